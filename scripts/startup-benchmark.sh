@@ -0,0 +1,161 @@
+#!/usr/bin/env bash
+# Compares startup time, first-request latency and memory of the build modes:
+#
+#   jvm      plain executable jar
+#   cds      extracted jar with an AppCDS archive
+#   aot-cds  extracted jar with Spring AOT (-Paot) and an AppCDS archive
+#   native   GraalVM native executable (-Pnative, needs native-image)
+#
+#   docker compose up -d postgres redis
+#   scripts/startup-benchmark.sh                  # jvm cds aot-cds, 5 runs each
+#   RUNS=10 scripts/startup-benchmark.sh jvm native
+#
+# Every mode is started RUNS times against the same database. For each run
+# it records the "Started ... in X seconds (process running for Y)" line,
+# the wall time until /actuator/health answers 200, the latency of the first
+# login and of the first /v3/api-docs request (which is cold in every mode),
+# and the resident set size once the first requests are served. Results go to
+# target/startup/startup-benchmark.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+OUT=target/startup
+CSV="${OUT}/startup-benchmark.csv"
+EMAIL=startup-bench@example.com
+PASSWORD=startup-bench-password
+MODES=("$@")
+[ ${#MODES[@]} -eq 0 ] && MODES=(jvm cds aot-cds)
+
+mkdir -p "${OUT}"
+
+now_ms() { date +%s%3N; }
+
+wait_for_health() {
+  local pid=$1
+  for _ in $(seq 1 600); do
+    if curl -fs -o /dev/null "${BASE_URL}/actuator/health"; then
+      return 0
+    fi
+    kill -0 "${pid}" 2>/dev/null || return 1
+    sleep 0.05
+  done
+  return 1
+}
+
+# Seconds, as curl measures the whole exchange
+request_time() {
+  curl -s -o /dev/null -w '%{time_total}' "$@"
+}
+
+login() {
+  request_time -X POST "${BASE_URL}/api/v1/auth/login" \
+    -H 'Content-Type: application/json' \
+    -d "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}"
+}
+
+build() {
+  echo "== Building"
+  # One AOT-processed jar serves every JVM mode: the generated code is only
+  # used when started with -Dspring.aot.enabled=true
+  ./mvnw -B -q -Paot package -DskipTests
+  JAR=$(ls target/banking-api-*.jar | grep -v plain | head -n 1)
+  java -Djarmode=tools -jar "${JAR}" extract --destination "${OUT}/app" --force > /dev/null
+  EXTRACTED="${OUT}/app/$(basename "${JAR}")"
+
+  for mode in "${MODES[@]}"; do
+    case "${mode}" in
+      cds) train "${OUT}/cds.jsa" false ;;
+      aot-cds) train "${OUT}/aot-cds.jsa" true ;;
+      native)
+        [ -x target/banking-api ] || ./mvnw -B -q -Pnative native:compile -DskipTests ;;
+    esac
+  done
+}
+
+# Starts the extracted app once, exiting after the context refreshes, and
+# dumps the classes it loaded into the archive
+train() {
+  local archive=$1 aot=$2
+  echo "== Training ${archive}"
+  java -XX:ArchiveClassesAtExit="${archive}" -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled="${aot}" -jar "${EXTRACTED}" > "${OUT}/training.log" 2>&1
+}
+
+command_for() {
+  case "$1" in
+    jvm) echo "java -jar ${JAR}" ;;
+    cds) echo "java -XX:SharedArchiveFile=${OUT}/cds.jsa -jar ${EXTRACTED}" ;;
+    aot-cds) echo "java -XX:SharedArchiveFile=${OUT}/aot-cds.jsa -Dspring.aot.enabled=true -jar ${EXTRACTED}" ;;
+    native) echo "target/banking-api" ;;
+    *) echo "Unknown mode: $1" >&2; exit 1 ;;
+  esac
+}
+
+run() {
+  local mode=$1 run=$2 log="${OUT}/${1}-${2}.log"
+  local started pid ready
+
+  started=$(now_ms)
+  # shellcheck disable=SC2046
+  $(command_for "${mode}") --server.port="${PORT}" > "${log}" 2>&1 &
+  pid=$!
+  if ! wait_for_health "${pid}"; then
+    echo "${mode} did not become healthy, see ${log}" >&2
+    kill "${pid}" 2>/dev/null || true
+    exit 1
+  fi
+  ready=$(( $(now_ms) - started ))
+
+  local login_s docs_s rss_kb started_s process_s
+  login_s=$(login)
+  docs_s=$(request_time "${BASE_URL}/v3/api-docs")
+  rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status" 2>/dev/null || echo "")
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+
+  started_s=$(sed -nE 's/.*Started .* in ([0-9.]+) seconds.*/\1/p' "${log}" | head -n 1)
+  process_s=$(sed -nE 's/.*process running for ([0-9.]+).*/\1/p' "${log}" | head -n 1)
+
+  echo "${mode},${run},${started_s},${process_s},${ready},${login_s},${docs_s},${rss_kb}" >> "${CSV}"
+  printf '%-8s #%-2d started %ss (process %ss), healthy %dms, login %ss, api-docs %ss, rss %sKB\n' \
+    "${mode}" "${run}" "${started_s}" "${process_s}" "${ready}" "${login_s}" "${docs_s}" "${rss_kb}"
+}
+
+# The login user has to exist before the first timed run
+register() {
+  local pid
+  java -jar "${JAR}" --server.port="${PORT}" > "${OUT}/register.log" 2>&1 &
+  pid=$!
+  wait_for_health "${pid}" || { echo "App did not start, see ${OUT}/register.log" >&2; exit 1; }
+  curl -s -o /dev/null -X POST "${BASE_URL}/api/v1/auth/register" \
+    -H 'Content-Type: application/json' \
+    -d "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\",\"firstName\":\"Startup\",\"lastName\":\"Bench\"}"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+}
+
+build
+register
+
+echo "mode,run,started_s,process_s,healthy_ms,first_login_s,first_api_docs_s,rss_kb" > "${CSV}"
+for mode in "${MODES[@]}"; do
+  for run in $(seq 1 "${RUNS}"); do
+    run "${mode}" "${run}"
+  done
+done
+
+echo
+echo "== Medians (${RUNS} runs)"
+for mode in "${MODES[@]}"; do
+  for column in 3 5 6 8; do
+    grep "^${mode}," "${CSV}" | cut -d, -f"${column}" | sort -n \
+      | awk -v mode="${mode}" -v col="$(head -n 1 "${CSV}" | cut -d, -f"${column}")" \
+          '{ v[NR] = $1 } END { printf "%-8s %-18s %s\n", mode, col, v[int((NR + 1) / 2)] }'
+  done
+done
+echo "Results in ${CSV}"
@@ -0,0 +1,49 @@
+package com.banking.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// JSON body of every register/login response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthResponseSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private AuthResponse response;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writerFor(AuthResponse.class);
+        response = AuthResponse.builder()
+                .token("eyJhbGciOiJFUzI1NiIsImtpZCI6ImFiYzEyMyJ9"
+                        + ".eyJzdWIiOiJqb2huQGV4YW1wbGUuY29tIiwidWlkIjoxLCJyb2xlIjoiQ1VTVE9NRVIifQ"
+                        + ".c2lnbmF0dXJlLXBsYWNlaG9sZGVyLXNpZ25hdHVyZS1wbGFjZWhvbGRlcg")
+                .email("john@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .role("CUSTOMER")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.security;
+
+import com.banking.model.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Wires the security components the way Spring would, minus Redis, so the
+// benchmarks measure our code and JJWT rather than the network
+final class BenchmarkFixtures {
+
+    static final String SECRET =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final long EXPIRATION = 86400000L;
+
+    static final UserPrincipal USER = new UserPrincipal(
+            1L, "john@example.com", "hashed-password", Role.CUSTOMER, 0L);
+
+    private BenchmarkFixtures() {
+    }
+
+    static SigningKeyRing keyRing(String algorithm) {
+        SigningKeyRing keyRing = new SigningKeyRing(null, new ObjectMapper());
+        ReflectionTestUtils.setField(keyRing, "secretKey", SECRET);
+        ReflectionTestUtils.setField(keyRing, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(keyRing, "algorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "rotationInterval", 21600000L);
+        ReflectionTestUtils.setField(keyRing, "sharedKeysEnabled", false);
+        keyRing.init();
+        return keyRing;
+    }
+
+    static JwtTokenProvider tokenProvider(String algorithm, boolean cacheEnabled) {
+        JwtTokenProvider provider = new JwtTokenProvider(
+                new VerifiedTokenCache(cacheEnabled, 100000, new SimpleMeterRegistry()),
+                keyRing(algorithm),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "expiration", EXPIRATION);
+        provider.init();
+        return provider;
+    }
+
+    // Revocation enabled with an empty filter: the in-memory negative path
+    static TokenRevocationService revocationService() {
+        TokenRevocationService service = new TokenRevocationService(null, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "filter", BloomFilter.create(100000, 0.01));
+        return service;
+    }
+}
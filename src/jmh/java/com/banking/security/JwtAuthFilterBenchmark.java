@@ -0,0 +1,81 @@
+package com.banking.security;
+
+import com.banking.audit.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Whole filter per request with an in-memory user lookup and a no-op chain.
+// stateless=true takes the claims-only path; false loads the user each time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({SigningKeyRing.HS256, SigningKeyRing.ES256})
+    public String algorithm;
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = BenchmarkFixtures.tokenProvider(algorithm, true);
+        UserDetailsService userDetailsService = email -> new UserPrincipal(
+                1L, email, "hashed-password",
+                BenchmarkFixtures.USER.getRole(), 0L);
+
+        filter = new JwtAuthFilter(
+                provider,
+                userDetailsService,
+                new SecurityVersionRegistry(BenchmarkFixtures.EXPIRATION),
+                BenchmarkFixtures.revocationService(),
+                new SimpleMeterRegistry(),
+                new AuditLog(new SimpleMeterRegistry(), false, 1024));
+        ReflectionTestUtils.setField(filter, "statelessEnabled", stateless);
+        filter.init();
+
+        authorization = "Bearer " + provider.generateToken(BenchmarkFixtures.USER);
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> blackhole.consume(
+                SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, response, chain);
+
+        // Part of the measured request, as in the servlet container; a
+        // per-invocation @TearDown would distort a microsecond benchmark
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,11 @@
+package com.banking.audit;
+
+import java.time.LocalDateTime;
+
+public record AuditEvent(
+        LocalDateTime occurredAt,
+        AuditEventType type,
+        String subject,
+        String clientIp,
+        String detail) {
+}
@@ -0,0 +1,16 @@
+package com.banking.audit;
+
+public enum AuditEventType {
+    REGISTERED,
+    EMAIL_VERIFIED,
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED,
+    TOKEN_REFRESHED,
+    REFRESH_REJECTED,
+    LOGOUT,
+    LOGOUT_ALL,
+    TOKEN_REJECTED,
+    ACCESS_DENIED,
+    RATE_LIMITED,
+    REGISTRATION_REJECTED
+}
@@ -0,0 +1,107 @@
+package com.banking.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Entry point for security audit events. record() only appends to a bounded
+// lock-free ring buffer and never blocks or touches the database; the
+// AuditLogWriter thread drains it into Postgres in batches. When the buffer
+// is full the new event is dropped and counted (audit.events{outcome=dropped})
+// rather than slowing the request down.
+@Component
+public class AuditLog {
+
+    // Column widths in audit_log. The writer inserts in batches, so a single
+    // oversized value (a 300-character login email, say) would fail the
+    // whole batch; values are cut to fit before they are buffered.
+    static final int MAX_SUBJECT_LENGTH = 100;
+    static final int MAX_CLIENT_IP_LENGTH = 45;
+    static final int MAX_DETAIL_LENGTH = 500;
+
+    private final boolean enabled;
+    private final RingBuffer<AuditEvent> buffer;
+    private final Counter published;
+    private final Counter dropped;
+
+    public AuditLog(
+            MeterRegistry meterRegistry,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.buffer-size:65536}") int bufferSize) {
+        this.enabled = enabled;
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.published = outcome(meterRegistry, "published");
+        this.dropped = outcome(meterRegistry, "dropped");
+        Gauge.builder("audit.buffer.size", buffer, RingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, RingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    // Subject defaults to the authenticated caller; the client IP comes
+    // from the current request when there is one
+    public void record(AuditEventType type, String subject, String detail) {
+        if (!enabled) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(
+                LocalDateTime.now(),
+                type,
+                truncate(subject != null ? subject : currentCaller(), MAX_SUBJECT_LENGTH),
+                truncate(currentClientIp(), MAX_CLIENT_IP_LENGTH),
+                truncate(detail, MAX_DETAIL_LENGTH));
+
+        if (buffer.offer(event)) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public void record(AuditEventType type, String subject) {
+        record(type, subject, null);
+    }
+
+    // Writer side
+    int drainTo(List<AuditEvent> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength
+                ? value.substring(0, maxLength)
+                : value;
+    }
+
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                ? authentication.getName()
+                : null;
+    }
+
+    private static String currentClientIp() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : null;
+    }
+
+    static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.events")
+                .description("Audit events by what happened to them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.banking.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Single dedicated thread that drains the audit buffer into Postgres. Each
+// batch is one JDBC batch insert, which reWriteBatchedInserts in the JDBC
+// URL turns into multi-row INSERT statements. The thread sleeps for
+// flush-interval when the buffer is empty and keeps going while batches
+// come back full. On shutdown it stops, then writes whatever is left.
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT = "INSERT INTO audit_log " +
+            "(occurred_at, type, subject, client_ip, detail) VALUES (?, ?, ?, ?, ?)";
+
+    private final AuditLog auditLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Counter written;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AuditLogWriter(
+            AuditLog auditLog,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval:200ms}") Duration flushInterval) {
+        this.auditLog = auditLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.written = AuditLog.outcome(meterRegistry, "written");
+        this.failed = AuditLog.outcome(meterRegistry, "failed");
+        this.batchTimer = Timer.builder("audit.write")
+                .description("Time to write one batch of audit events")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Runs after the web server has drained its requests, so every event
+    // they recorded is in the buffer by now
+    @PreDestroy
+    void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // The buffer has a single consumer; only take over once the thread is gone
+        if (!thread.isAlive()) {
+            flush();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (writeBatch() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void flush() {
+        while (writeBatch() > 0) {
+            // drain completely
+        }
+    }
+
+    private int writeBatch() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        int count = auditLog.drainTo(batch, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT, batch, batch.size(),
+                    (statement, event) -> {
+                        statement.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                        statement.setString(2, event.type().name());
+                        statement.setString(3, event.subject());
+                        statement.setString(4, event.clientIp());
+                        statement.setString(5, event.detail());
+                    }));
+            written.increment(count);
+        } catch (RuntimeException ex) {
+            // Not retried: a database outage must not grow the backlog unbounded
+            log.warn("Failed to write {} audit events: {}", count, ex.getMessage());
+            failed.increment(count);
+        }
+        return count;
+    }
+}
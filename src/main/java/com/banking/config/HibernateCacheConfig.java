@@ -0,0 +1,52 @@
+package com.banking.config;
+
+import com.banking.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Second-level cache regions for Hibernate, held in a Caffeine JCache
+// manager built here rather than from a provider config file, so size and
+// TTL come from application.yaml like every other cache in the app.
+// Regions are per node; UserChangeBroadcaster evicts them on remote changes.
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.hibernate.users.max-size:10000}") long maxSize,
+            @Value("${cache.hibernate.users.ttl:10m}") Duration ttl) {
+
+        CachingProvider provider = Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (String region : List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)) {
+            if (cacheManager.getCache(region) != null) {
+                continue;
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
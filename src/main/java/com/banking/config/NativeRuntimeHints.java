@@ -0,0 +1,140 @@
+package com.banking.config;
+
+import com.banking.dto.request.DepositRequest;
+import com.banking.dto.request.ImportUserRow;
+import com.banking.dto.request.LoginRequest;
+import com.banking.dto.request.OpenAccountRequest;
+import com.banking.dto.request.RefreshTokenRequest;
+import com.banking.dto.request.RegisterRequest;
+import com.banking.dto.request.TransferRequest;
+import com.banking.dto.response.AccountResponse;
+import com.banking.dto.response.AuthResponse;
+import com.banking.dto.response.BulkImportResponse;
+import com.banking.dto.response.TransferResponse;
+import com.banking.dto.response.UserPageResponse;
+import com.banking.dto.response.UserResponse;
+import com.banking.event.UserChangeListener;
+import com.banking.event.UserChangedEvent;
+import com.banking.exception.ApiErrorResponse;
+import com.banking.mail.EmailMessage;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.EmailVerificationToken;
+import com.banking.model.LedgerEntry;
+import com.banking.model.LedgerTransaction;
+import com.banking.model.LedgerTransactionType;
+import com.banking.model.OutboxMessage;
+import com.banking.model.Role;
+import com.banking.model.User;
+import com.banking.repository.UserSummary;
+import com.banking.service.EmailVerificationService;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+// Reflection and resource hints for the native image (./mvnw -Pnative).
+// Spring AOT already covers beans, controller signatures and the entity
+// list; this adds what it can't see:
+//   - JJWT, which loads its implementation from jjwt-impl by class name and
+//     finds its Jackson (de)serializer through ServiceLoader
+//   - JSON types written with ObjectMapper directly (Redis, outbox, errors)
+//     and the DTOs springdoc introspects, including the Lombok builders
+//   - entity members, enums and listeners Hibernate reaches reflectively,
+//     and the projection it instantiates from JPQL
+// Package-private payloads are registered with @RegisterReflectionForBinding
+// on the component that owns them.
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Instantiated by io.jsonwebtoken.lang.Classes from jjwt-api
+    static final List<String> JJWT_IMPLEMENTATION = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    static final List<Class<?>> ENTITIES = List.of(
+            User.class,
+            Account.class,
+            LedgerTransaction.class,
+            LedgerEntry.class,
+            OutboxMessage.class,
+            EmailVerificationToken.class
+    );
+
+    static final List<Class<?>> JSON_TYPES = List.of(
+            RegisterRequest.class,
+            LoginRequest.class,
+            RefreshTokenRequest.class,
+            ImportUserRow.class,
+            OpenAccountRequest.class,
+            TransferRequest.class,
+            DepositRequest.class,
+            AuthResponse.class,
+            UserResponse.class,
+            UserPageResponse.class,
+            BulkImportResponse.class,
+            AccountResponse.class,
+            TransferResponse.class,
+            ApiErrorResponse.class,
+            UserChangedEvent.class,
+            EmailMessage.class,
+            EmailVerificationService.VerificationEmail.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+
+        JJWT_IMPLEMENTATION.forEach(type -> hints.reflection().registerType(
+                TypeReference.of(type),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources()
+                .registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        binding.registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class<?>[]::new));
+
+        // Lombok builders, for tools that discover them reflectively
+        List.of(User.UserBuilder.class, AuthResponse.AuthResponseBuilder.class)
+                .forEach(builder -> hints.reflection().registerType(builder,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        ENTITIES.forEach(entity -> hints.reflection().registerType(entity,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS));
+        List.of(Role.class, AccountType.class, LedgerTransactionType.class)
+                .forEach(type -> hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS));
+        hints.reflection().registerType(UserChangeListener.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(UserSummary.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
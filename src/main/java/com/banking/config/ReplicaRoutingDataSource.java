@@ -0,0 +1,148 @@
+package com.banking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Target for read-only transactions. Spreads them round-robin over the
+// replicas whose measured replay lag is within max-lag, and falls back to
+// the primary when none is, so a lagging or dead replica only costs
+// primary capacity, never stale or failed reads.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    // Zero when the replica has replayed everything it received: an idle
+    // primary would otherwise make the replay timestamp look ever older.
+    // That only holds while WAL is still arriving, so without a running WAL
+    // receiver the lag is unknown (NULL) and the replica drops out: one that
+    // lost its primary has received == replayed however stale it is. Without
+    // pg_read_all_stats the status column reads NULL; the receiver's row
+    // existing is then the signal.
+    static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver " +
+            "WHERE coalesce(status, 'streaming') = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<HikariDataSource> replicaPools,
+                                    Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            targets.put(replica.name, pool);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the replica; NaN when unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryFallbacks = Counter.builder("db.replica.fallback")
+                .description("Read-only connections sent to the primary for lack of a healthy replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        // Replicas stay out of rotation until their lag has been measured
+        checkLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        primaryFallbacks.increment();
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            double lag;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(1);
+                try (ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                    result.next();
+                    lag = result.getDouble(1);
+                    if (result.wasNull()) {
+                        lag = Double.NaN;
+                    }
+                }
+            } catch (SQLException ex) {
+                log.debug("Lag check failed on {}: {}", replica.name, ex.getMessage());
+                lag = Double.NaN;
+            }
+
+            boolean healthy = !Double.isNaN(lag) && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} back in rotation, lag {}s", replica.name, lag);
+                } else {
+                    log.warn("Replica {} out of rotation, lag {}s", replica.name, lag);
+                }
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean healthy;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.banking.config;
 
+import com.banking.audit.AuditEventType;
+import com.banking.audit.AuditLog;
 import com.banking.security.JwtAuthFilter;
+import com.banking.security.OffloadingPasswordEncoder;
+import com.banking.security.PasswordHashingExecutor;
+import com.banking.security.QuotaFilter;
+import com.banking.service.UserDetailsServiceImpl;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -24,17 +30,31 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
-    private final UserDetailsService userDetailsService;
+    private final QuotaFilter quotaFilter;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuditLog auditLog;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Session endpoints act on the caller's own token
+                        .requestMatchers(
+                                "/api/v1/auth/logout",
+                                "/api/v1/auth/logout-all"
+                        ).authenticated()
+                        // Administration
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        // Probes stay open; metrics and the rest of actuator
+                        // expose internals, so they are for admins only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Public endpoints (no token needed)
                         .requestMatchers(
                                 "/api/v1/auth/**",
-                                "/actuator/**",
+                                "/.well-known/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
@@ -44,22 +64,35 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                // Authenticated callers hitting endpoints their role doesn't allow
+                .exceptionHandling(ex -> ex
+                        .accessDeniedHandler((request, response, denied) -> {
+                            auditLog.record(AuditEventType.ACCESS_DENIED, null,
+                                    request.getMethod() + " " + request.getRequestURI());
+                            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                        })
+                )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter,
-                        UsernamePasswordAuthenticationFilter.class);
+                        UsernamePasswordAuthenticationFilter.class)
+                // Quotas are per caller, so they need the authenticated principal
+                .addFilterAfter(quotaFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
+    // BCrypt runs on the bounded hashing pool, never on the servlet thread
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(), passwordHashingExecutor);
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setUserDetailsService(userDetailsService);
+        // The login checks the hash, which the cached lookup doesn't carry
+        provider.setUserDetailsService(userDetailsService::loadUserForLogin);
         provider.setPasswordEncoder(passwordEncoder());
         return provider;
     }
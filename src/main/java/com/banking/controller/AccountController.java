@@ -0,0 +1,120 @@
+package com.banking.controller;
+
+import com.banking.dto.request.OpenAccountRequest;
+import com.banking.dto.response.AccountResponse;
+import com.banking.exception.ApiErrorResponse;
+import com.banking.security.UserPrincipal;
+import com.banking.service.AccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Accounts", description = "The current user's accounts")
+public class AccountController {
+
+    private final AccountService accountService;
+
+    @PostMapping
+    @Operation(
+            summary = "Open account",
+            description = "Open an empty account for the current user"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Account opened",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AccountResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input or unsupported currency",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<AccountResponse> open(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody OpenAccountRequest request) {
+
+        AccountResponse response = accountService.open(principal.getId(), request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(response);
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "List accounts",
+            description = "The current user's accounts with their balances"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Accounts, oldest first",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = AccountResponse.class))
+                    )
+            )
+    })
+    public ResponseEntity<List<AccountResponse>> list(
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        return ResponseEntity.ok(accountService.list(principal.getId()));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get account",
+            description = "One of the current user's accounts"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Account found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AccountResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "No such account for this user",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<AccountResponse> get(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long id) {
+
+        return ResponseEntity.ok(accountService.get(principal.getId(), id));
+    }
+}
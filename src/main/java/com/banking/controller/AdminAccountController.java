@@ -0,0 +1,71 @@
+package com.banking.controller;
+
+import com.banking.dto.request.DepositRequest;
+import com.banking.dto.response.TransferResponse;
+import com.banking.exception.ApiErrorResponse;
+import com.banking.service.TransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Account Administration", description = "Admin-only ledger operations")
+public class AdminAccountController {
+
+    private final TransferService transferService;
+
+    @PostMapping("/{id}/deposits")
+    @Operation(
+            summary = "Deposit",
+            description = "Credit an account from the settlement account of its currency"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Deposit posted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TransferResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an admin",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown account",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<TransferResponse> deposit(
+            @PathVariable Long id,
+            @Valid @RequestBody DepositRequest request) {
+
+        TransferResponse response = transferService.deposit(id, request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(response);
+    }
+}
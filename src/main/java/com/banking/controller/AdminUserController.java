@@ -0,0 +1,120 @@
+package com.banking.controller;
+
+import com.banking.dto.response.BulkImportResponse;
+import com.banking.dto.response.UserPageResponse;
+import com.banking.exception.ApiErrorResponse;
+import com.banking.model.Role;
+import com.banking.service.UserDirectoryService;
+import com.banking.service.UserImportService;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+@Tag(name = "User Administration", description = "Admin-only user management")
+public class AdminUserController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final UserDirectoryService userDirectoryService;
+
+    @GetMapping
+    @Operation(
+            summary = "List users",
+            description = "Newest users first, optionally filtered by role and verification status. " +
+                    "Pass the returned nextCursor to fetch the following page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One page of users",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserPageResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or filter value",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an admin",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<UserPageResponse> listUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean verified,
+            @Parameter(description = "nextCursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200")
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                userDirectoryService.list(role, verified, cursor, limit));
+    }
+
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    @Operation(
+            summary = "Bulk import users",
+            description = "Stream users as NDJSON (one object per line) or CSV with a header row " +
+                    "(email,password,passwordHash,firstName,lastName,phone,role). " +
+                    "Invalid or duplicate rows are reported and skipped."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import finished; see per-row errors",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkImportResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an admin",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<BulkImportResponse> importUsers(
+            HttpServletRequest request) throws IOException {
+
+        // Read the body as a stream; it is never buffered whole in memory
+        boolean csv = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV));
+
+        BulkImportResponse response =
+                userImportService.importUsers(request.getInputStream(), csv);
+        return ResponseEntity.ok(response);
+    }
+}
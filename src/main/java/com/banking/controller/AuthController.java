@@ -1,8 +1,11 @@
 package com.banking.controller;
 
+import com.banking.dto.request.LoginRequest;
+import com.banking.dto.request.RefreshTokenRequest;
 import com.banking.dto.request.RegisterRequest;
 import com.banking.dto.response.AuthResponse;
 import com.banking.exception.ApiErrorResponse;
+import com.banking.security.VerifiedClaims;
 import com.banking.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,13 +13,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -43,7 +52,15 @@ public class AuthController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid input or email already exists",
+                    description = "Invalid input",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Email already registered",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class)
@@ -58,4 +75,138 @@ public class AuthController {
                 .status(HttpStatus.CREATED)
                 .body(response);
     }
+
+    @PostMapping("/login")
+    @Operation(
+            summary = "Log in",
+            description = "Authenticate with email and password and receive JWT token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "User successfully authenticated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AuthResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Invalid email or password",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many failed attempts for this email or address",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+
+        // The client's address, not the balancer's: server.forward-headers-strategy
+        // resolves it from X-Forwarded-For sent by a trusted proxy
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchange a refresh token for a new access token and refresh token. " +
+                    "Each refresh token works once; reusing an old one revokes the whole session"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens refreshed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AuthResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Refresh token unknown, expired or already used",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request) {
+
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/verify-email")
+    @Operation(
+            summary = "Verify email address",
+            description = "Confirm the email address with the token from the verification email"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Email address verified"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Token unknown, already used or expired",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<Void> verifyEmail(@RequestParam String token) {
+
+        authService.verifyEmail(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Log out",
+            description = "Revoke the access token used for this request and its refresh token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid token"),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Revocation not stored on all servers; retry after Retry-After",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<Void> logout(
+            @RequestAttribute(VerifiedClaims.REQUEST_ATTRIBUTE) VerifiedClaims claims) {
+
+        authService.logout(claims);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    @Operation(
+            summary = "Log out everywhere",
+            description = "Revoke every access and refresh token issued to the current user"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All tokens revoked"),
+            @ApiResponse(responseCode = "403", description = "Missing or invalid token")
+    })
+    public ResponseEntity<Void> logoutAll(
+            @AuthenticationPrincipal UserDetails principal) {
+
+        authService.logoutAll(principal.getUsername());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.banking.controller;
+
+import com.banking.security.SigningKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Keys", description = "Public keys for verifying access tokens")
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys that verify ES256 access tokens, matched by kid"
+    )
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // Short max-age: verifiers re-fetch on an unknown kid anyway
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", signingKeyRing.publicJwks()));
+    }
+}
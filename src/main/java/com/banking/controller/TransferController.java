@@ -0,0 +1,96 @@
+package com.banking.controller;
+
+import com.banking.dto.request.TransferRequest;
+import com.banking.dto.response.TransferResponse;
+import com.banking.exception.ApiErrorResponse;
+import com.banking.security.UserPrincipal;
+import com.banking.service.TransferService;
+import com.banking.web.IdempotencyFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/transfers")
+@RequiredArgsConstructor
+@Tag(name = "Transfers", description = "Moving money between accounts")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    @PostMapping
+    @Operation(
+            summary = "Transfer",
+            description = "Move money from one of the current user's accounts to any account " +
+                    "in the same currency. Every transfer needs a unique Idempotency-Key; " +
+                    "retrying with the same key returns the original transfer instead of " +
+                    "posting it again."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Transfer posted, or the earlier transfer with this key " +
+                            "(Idempotent-Replayed: true)",
+                    headers = @Header(name = "Idempotent-Replayed",
+                            description = "true when the transfer was posted by an earlier request"),
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TransferResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input, missing Idempotency-Key, same account or different currencies",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Unknown account, or source account not owned by the caller",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Insufficient funds, or Idempotency-Key already used for a different transfer",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<TransferResponse> transfer(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Parameter(in = ParameterIn.HEADER, description = "Client-chosen key, unique per transfer",
+                    example = "7f9c2ba4-e88f-11ee-a951-0242ac120002")
+            @RequestHeader(IdempotencyFilter.HEADER) String idempotencyKey,
+            @Valid @RequestBody TransferRequest request) {
+
+        TransferService.Posted posted =
+                transferService.transfer(principal.getId(), idempotencyKey, request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .header(IdempotencyFilter.REPLAYED_HEADER, String.valueOf(posted.replayed()))
+                .body(posted.response());
+    }
+}
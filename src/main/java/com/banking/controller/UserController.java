@@ -0,0 +1,80 @@
+package com.banking.controller;
+
+import com.banking.dto.response.UserResponse;
+import com.banking.security.UserPrincipal;
+import com.banking.service.UserProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+@Tag(name = "Users", description = "The current user's profile")
+public class UserController {
+
+    private static final String PROFILE_CACHE_CONTROL =
+            CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final UserProfileService userProfileService;
+
+    @GetMapping("/me")
+    @Operation(
+            summary = "Get current user",
+            description = "Profile of the authenticated user. Send the ETag back in " +
+                    "If-None-Match to get 304 Not Modified while it is unchanged."
+    )
+    @Parameter(
+            name = "If-None-Match",
+            in = ParameterIn.HEADER,
+            description = "ETag from a previous response",
+            example = "\"42-63f1a2b3c4d5e\""
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Current profile",
+                    headers = @Header(name = "ETag", description = "Version of this profile"),
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Profile unchanged since the ETag in If-None-Match",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<UserResponse> me(
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+
+        // Clients may keep the profile but must revalidate it; set up front so
+        // the 304 carries it too
+        response.setHeader(HttpHeaders.CACHE_CONTROL, PROFILE_CACHE_CONTROL);
+
+        // Sets the ETag header, and the 304 status when the client's copy is current
+        if (webRequest.checkNotModified(userProfileService.currentETag(principal.getUsername()))) {
+            return null;
+        }
+        return ResponseEntity.ok(userProfileService.load(principal.getUsername()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Request payload for crediting an account from settlement")
+public class DepositRequest {
+
+    @Schema(
+            description = "Amount in the account's currency",
+            example = "100.00",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+    @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    @Schema(
+            description = "Free-text description (optional)",
+            example = "Opening balance"
+    )
+    @Size(max = 140, message = "Description must be at most 140 characters")
+    private String description;
+}
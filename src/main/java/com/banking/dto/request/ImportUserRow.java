@@ -0,0 +1,43 @@
+package com.banking.dto.request;
+
+import com.banking.model.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "One user in a bulk import (one NDJSON line or CSV row)")
+public class ImportUserRow {
+
+    @Schema(example = "john.doe@example.com", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    @Size(max = 100, message = "Email must be at most 100 characters")
+    private String email;
+
+    @Schema(description = "Plain password; hashed during import. Omit when passwordHash is given.")
+    @Size(min = 8, message = "Password must be at least 8 characters")
+    private String password;
+
+    @Schema(description = "Existing BCrypt hash carried over from another system")
+    private String passwordHash;
+
+    @Schema(example = "John", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "First name is required")
+    @Size(max = 50, message = "First name must be at most 50 characters")
+    private String firstName;
+
+    @Schema(example = "Doe", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Last name is required")
+    @Size(max = 50, message = "Last name must be at most 50 characters")
+    private String lastName;
+
+    @Schema(example = "07700900123")
+    @Size(max = 15, message = "Phone must be at most 15 characters")
+    private String phone;
+
+    @Schema(description = "Defaults to CUSTOMER", allowableValues = {"CUSTOMER", "ADMIN"})
+    private Role role;
+}
@@ -0,0 +1,28 @@
+package com.banking.dto.request;
+
+import com.banking.model.AccountType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request payload for opening an account")
+public class OpenAccountRequest {
+
+    @Schema(
+            description = "Account type",
+            example = "CHECKING",
+            allowableValues = {"CHECKING", "SAVINGS"},
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Account type is required")
+    private AccountType type;
+
+    @Schema(
+            description = "ISO 4217 currency code (optional, defaults to GBP)",
+            example = "GBP"
+    )
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code")
+    private String currency;
+}
@@ -0,0 +1,18 @@
+package com.banking.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request payload for exchanging a refresh token")
+public class RefreshTokenRequest {
+
+    @Schema(
+            description = "Refresh token from the last login or refresh; single use",
+            example = "q3v9Yk1l0F2nQmTz6bW8xA.Zt1nq7k0c3...",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
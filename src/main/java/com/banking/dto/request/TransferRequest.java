@@ -0,0 +1,48 @@
+package com.banking.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Request payload for a transfer between two accounts")
+public class TransferRequest {
+
+    @Schema(
+            description = "Account to debit; must belong to the caller",
+            example = "12",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Source account is required")
+    private Long fromAccountId;
+
+    @Schema(
+            description = "Account to credit",
+            example = "34",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Destination account is required")
+    private Long toAccountId;
+
+    @Schema(
+            description = "Amount in the accounts' currency",
+            example = "25.00",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+    @Digits(integer = 17, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    @Schema(
+            description = "Free-text description (optional)",
+            example = "Rent"
+    )
+    @Size(max = 140, message = "Description must be at most 140 characters")
+    private String description;
+}
@@ -0,0 +1,49 @@
+package com.banking.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response payload containing an account and its balance")
+public class AccountResponse {
+
+    @Schema(
+            description = "Account's unique identifier",
+            example = "12"
+    )
+    private Long id;
+
+    @Schema(
+            description = "Account type",
+            example = "CHECKING",
+            allowableValues = {"CHECKING", "SAVINGS"}
+    )
+    private String type;
+
+    @Schema(
+            description = "ISO 4217 currency code",
+            example = "GBP"
+    )
+    private String currency;
+
+    @Schema(
+            description = "Current balance",
+            example = "250.00"
+    )
+    private BigDecimal balance;
+
+    @Schema(
+            description = "Account opening timestamp",
+            example = "2026-02-17T10:59:41.123456"
+    )
+    private LocalDateTime createdAt;
+}
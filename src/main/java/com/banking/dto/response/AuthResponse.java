@@ -27,6 +27,18 @@ public class AuthResponse {
     @Builder.Default
     private String tokenType = "Bearer";
 
+    @Schema(
+            description = "Access token lifetime in seconds",
+            example = "900"
+    )
+    private Long expiresIn;
+
+    @Schema(
+            description = "Opaque refresh token; exchange it at /api/v1/auth/refresh. Single use",
+            example = "q3v9Yk1l0F2nQmTz6bW8xA.Zt1nq7k0c3..."
+    )
+    private String refreshToken;
+
     @Schema(
             description = "User's email address",
             example = "john.doe@example.com"
@@ -0,0 +1,45 @@
+package com.banking.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk user import")
+public class BulkImportResponse {
+
+    @Schema(description = "Rows read from the body", example = "100000")
+    private long total;
+
+    @Schema(description = "Rows inserted", example = "99998")
+    private long imported;
+
+    @Schema(description = "Rows rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Per-row errors, capped; failed holds the full count")
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        @Schema(description = "1-based line number in the request body", example = "42")
+        private long line;
+
+        @Schema(example = "john.doe@example.com")
+        private String email;
+
+        @Schema(example = "Email already registered")
+        private String message;
+    }
+}
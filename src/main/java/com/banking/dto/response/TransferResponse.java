@@ -0,0 +1,53 @@
+package com.banking.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response payload for a posted transfer or deposit")
+public class TransferResponse {
+
+    @Schema(
+            description = "Ledger transaction id",
+            example = "1051"
+    )
+    private Long transactionId;
+
+    @Schema(
+            description = "Debited account",
+            example = "12"
+    )
+    private Long fromAccountId;
+
+    @Schema(
+            description = "Credited account",
+            example = "34"
+    )
+    private Long toAccountId;
+
+    @Schema(
+            description = "Amount moved",
+            example = "25.00"
+    )
+    private BigDecimal amount;
+
+    @Schema(
+            description = "ISO 4217 currency code",
+            example = "GBP"
+    )
+    private String currency;
+
+    @Schema(
+            description = "Resulting balance of the debited account, or of the credited account for deposits",
+            example = "225.00"
+    )
+    private BigDecimal balanceAfter;
+}
@@ -0,0 +1,26 @@
+package com.banking.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of the user directory, newest first")
+public class UserPageResponse {
+
+    @Schema(description = "Users on this page")
+    private List<UserResponse> users;
+
+    @Schema(
+            description = "Opaque cursor for the next page; absent on the last page",
+            example = "MjAyNi0wMi0xN1QxMDo1OTo0MS4xMjM0NTZ8NDI"
+    )
+    private String nextCursor;
+}
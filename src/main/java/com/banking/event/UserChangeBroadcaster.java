@@ -0,0 +1,112 @@
+package com.banking.event;
+
+import com.banking.model.User;
+import com.banking.security.SecurityVersionRegistry;
+import com.banking.service.UserDetailsCache;
+import com.banking.service.UserProfileService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+// Applies user changes to this node's caches once the change has committed,
+// and fans them out to every other node over Redis pub/sub.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserChangeBroadcaster {
+
+    private final UserDetailsCache userDetailsCache;
+    private final UserProfileService userProfileService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${cache.user-details.redis.channel:users:changed}")
+    private String channel;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> onRemoteChange(message.getBody()),
+                new ChannelTopic(channel)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        applyLocally(event);
+        userDetailsCache.evictShared(event.email());
+
+        if (listenerContainer.getIfAvailable() == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("Failed to broadcast user change: {}", ex.getMessage());
+        }
+    }
+
+    private void onRemoteChange(byte[] body) {
+        try {
+            UserChangedEvent event = objectMapper.readValue(
+                    new String(body, StandardCharsets.UTF_8), UserChangedEvent.class);
+            evictSecondLevelCache(event);
+            applyLocally(event);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed user change message: {}", ex.getMessage());
+        }
+    }
+
+    // Hibernate keeps this node's regions current for its own writes; a write
+    // made elsewhere only arrives here. Drop the user's entity entry and its
+    // email -> id mapping.
+    void evictSecondLevelCache(UserChangedEvent event) {
+        SessionFactoryImplementor sessionFactory =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(User.class, event.userId());
+
+        // Hibernate's Cache API only evicts natural ids by region, so build
+        // the key the way a session would. Opening a stateless session takes
+        // no connection until a statement runs, and none runs here.
+        EntityPersister persister = sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(User.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds == null) {
+            return;
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            naturalIds.evict(naturalIds.generateCacheKey(
+                    event.email(), persister, (SharedSessionContractImplementor) session));
+        }
+    }
+
+    private void applyLocally(UserChangedEvent event) {
+        userDetailsCache.evictLocal(event.email());
+        userProfileService.evict(event.email());
+        if (event.securityVersion() != null) {
+            securityVersionRegistry.advance(event.email(), event.securityVersion());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.event;
+
+import com.banking.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// JPA entity listener for User. Instantiated by Hibernate through Spring,
+// so the publisher is injected like in any other bean.
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(
+                new UserChangedEvent(user.getId(), user.getEmail(), user.getSecurityVersion()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.banking.event;
+
+import java.util.Objects;
+
+// Published whenever a users row changes. The security version is set when
+// the change invalidates previously issued tokens. The id lets other nodes
+// evict just this user from the second-level cache.
+public record UserChangedEvent(Long userId, String email, Long securityVersion) {
+
+    public UserChangedEvent {
+        Objects.requireNonNull(userId, "userId");
+        Objects.requireNonNull(email, "email");
+    }
+}
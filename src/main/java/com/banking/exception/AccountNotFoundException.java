@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Unknown account, or one the caller doesn't own; mapped to 404 either way
+public class AccountNotFoundException extends RuntimeException {
+
+    public AccountNotFoundException(Long accountId) {
+        super("Account not found: " + accountId);
+    }
+}
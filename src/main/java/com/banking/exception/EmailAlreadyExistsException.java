@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Thrown when registration hits an email that is already taken; mapped to 409
+public class EmailAlreadyExistsException extends RuntimeException {
+
+    public EmailAlreadyExistsException(String message) {
+        super(message);
+    }
+}
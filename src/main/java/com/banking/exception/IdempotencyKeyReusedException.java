@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Idempotency-Key already used by the caller for a different request; mapped to 422
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key was already used with a different request");
+    }
+}
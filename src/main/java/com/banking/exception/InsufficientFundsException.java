@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Debit would take a customer account below zero; mapped to 422
+public class InsufficientFundsException extends RuntimeException {
+
+    public InsufficientFundsException(Long accountId) {
+        super("Insufficient funds in account " + accountId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Thrown for unknown, expired or reused refresh tokens; mapped to 401
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.exception;
+
+// Thrown for malformed request parameters, e.g. a tampered cursor; mapped to 400
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.banking.exception;
+
+import lombok.Getter;
+
+// Thrown when a bounded resource is saturated or a backend the request
+// depends on is unreachable; mapped to 503 with Retry-After
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
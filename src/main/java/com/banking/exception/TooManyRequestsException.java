@@ -0,0 +1,15 @@
+package com.banking.exception;
+
+import lombok.Getter;
+
+// Thrown when a caller exceeds a rate or attempt limit; mapped to 429
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
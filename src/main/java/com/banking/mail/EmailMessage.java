@@ -0,0 +1,5 @@
+package com.banking.mail;
+
+// Plain-text email, rendered at send time and handed to an EmailSender
+public record EmailMessage(String to, String subject, String body) {
+}
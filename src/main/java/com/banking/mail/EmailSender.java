@@ -0,0 +1,8 @@
+package com.banking.mail;
+
+// Delivery channel used by the outbox dispatcher. Implementations throw on
+// failure; the dispatcher retries with backoff.
+public interface EmailSender {
+
+    void send(EmailMessage message);
+}
@@ -0,0 +1,50 @@
+package com.banking.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+// Local stand-in: writes each message to a .eml file instead of sending it
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mail.sender", havingValue = "file", matchIfMissing = true)
+public class FileEmailSender implements EmailSender {
+
+    private final Path directory;
+    private final String from;
+
+    public FileEmailSender(
+            @Value("${mail.file.directory:target/mail}") Path directory,
+            @Value("${mail.from:no-reply@banking.local}") String from) {
+        this.directory = directory;
+        this.from = from;
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        String content = "From: " + from + "\r\n" +
+                "To: " + message.to() + "\r\n" +
+                "Subject: " + message.subject() + "\r\n" +
+                "Date: " + Instant.now() + "\r\n" +
+                "Content-Type: text/plain; charset=UTF-8\r\n" +
+                "\r\n" +
+                message.body();
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(System.currentTimeMillis() + "-" + UUID.randomUUID() + ".eml");
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+            log.debug("Wrote email for {} to {}", message.to(), file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write email", ex);
+        }
+    }
+}
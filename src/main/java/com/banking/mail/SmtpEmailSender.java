@@ -0,0 +1,33 @@
+package com.banking.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+// Sends through spring.mail.*; docker-compose runs Mailpit on port 1025
+@Component
+@ConditionalOnProperty(name = "mail.sender", havingValue = "smtp")
+public class SmtpEmailSender implements EmailSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpEmailSender(
+            JavaMailSender mailSender,
+            @Value("${mail.from:no-reply@banking.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.to());
+        mail.setSubject(message.subject());
+        mail.setText(message.body());
+        mailSender.send(mail);
+    }
+}
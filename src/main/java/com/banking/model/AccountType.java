@@ -0,0 +1,8 @@
+package com.banking.model;
+
+public enum AccountType {
+    CHECKING,
+    SAVINGS,
+    // System account on the other side of deposits; may go negative
+    SETTLEMENT
+}
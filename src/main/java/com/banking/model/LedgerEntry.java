@@ -0,0 +1,50 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One side of a ledger transaction. Entries are never updated or deleted.
+@Entity
+@Table(name = "ledger_entries", uniqueConstraints = @UniqueConstraint(
+        name = "uq_ledger_entries_account_version",
+        columnNames = {"account_id", "account_version"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_id_seq")
+    @SequenceGenerator(name = "ledger_entries_id_seq",
+            sequenceName = "ledger_entries_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private Long transactionId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    // Signed: negative debits the account, positive credits it
+    @Column(nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", nullable = false, updatable = false, precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+
+    // Account version after this entry; unique per account
+    @Column(name = "account_version", nullable = false, updatable = false)
+    private Long accountVersion;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,50 @@
+package com.banking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Header of one balanced movement; its entries are in ledger_entries
+@Entity
+@Table(name = "ledger_transactions", uniqueConstraints = @UniqueConstraint(
+        name = "uq_ledger_transactions_idempotency",
+        columnNames = {"user_id", "idempotency_key"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_transactions_id_seq")
+    @SequenceGenerator(name = "ledger_transactions_id_seq",
+            sequenceName = "ledger_transactions_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LedgerTransactionType type;
+
+    @Column(length = 140)
+    private String description;
+
+    // Caller and Idempotency-Key of a transfer; null for deposits
+    @Column(name = "user_id", updatable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", updatable = false)
+    private String idempotencyKey;
+
+    // Fingerprint of the transfer the key was first used for
+    @Column(name = "request_hash", updatable = false, length = 64)
+    private String requestHash;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
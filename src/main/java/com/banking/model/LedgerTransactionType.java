@@ -0,0 +1,6 @@
+package com.banking.model;
+
+public enum LedgerTransactionType {
+    TRANSFER,
+    DEPOSIT
+}
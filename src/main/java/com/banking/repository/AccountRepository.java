@@ -0,0 +1,40 @@
+package com.banking.repository;
+
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    // SELECT ... ORDER BY id FOR UPDATE: Postgres locks rows as they come out
+    // of the sort, so every transfer acquires its row locks in id order and
+    // two transfers can never each hold a lock the other is waiting for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Unlocked read for the optimistic path; @Version catches concurrent writers
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllInIdOrder(@Param("ids") Collection<Long> ids);
+
+    List<Account> findByUserIdOrderById(Long userId);
+
+    Optional<Account> findByIdAndUserId(Long id, Long userId);
+
+    Optional<Account> findByTypeAndCurrency(AccountType type, String currency);
+
+    boolean existsByTypeAndCurrency(AccountType type, String currency);
+
+    @Query("SELECT a.id FROM Account a WHERE a.hot = true")
+    List<Long> findHotAccountIds();
+}
@@ -0,0 +1,16 @@
+package com.banking.repository;
+
+import com.banking.model.EmailVerificationToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, String> {
+
+    @Modifying
+    @Query("DELETE FROM EmailVerificationToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
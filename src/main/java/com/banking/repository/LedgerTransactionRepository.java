@@ -0,0 +1,13 @@
+package com.banking.repository;
+
+import com.banking.model.LedgerTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerTransactionRepository extends JpaRepository<LedgerTransaction, Long> {
+
+    Optional<LedgerTransaction> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+}
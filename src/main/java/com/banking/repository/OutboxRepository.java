@@ -0,0 +1,49 @@
+package com.banking.repository;
+
+import com.banking.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Claim up to :limit due rows in one short transaction. SKIP LOCKED lets
+    // every node claim at once without waiting on each other's rows; pushing
+    // next_attempt_at out by the lease hides the claimed rows until then,
+    // so a node that dies mid-batch only delays its rows, never loses them.
+    @Transactional
+    @Query(value = "UPDATE outbox SET attempts = attempts + 1, " +
+            "next_attempt_at = NOW() + (:leaseSeconds * INTERVAL '1 second') " +
+            "WHERE id IN (SELECT id FROM outbox " +
+            "WHERE failed_at IS NULL AND next_attempt_at <= NOW() " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("limit") int limit,
+                                   @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.id = :id")
+    int deleteSent(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lastError = :error WHERE m.id = :id")
+    int reschedule(@Param("id") Long id,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.failedAt = CURRENT_TIMESTAMP, " +
+            "m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
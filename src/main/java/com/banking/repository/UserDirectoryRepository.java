@@ -0,0 +1,19 @@
+package com.banking.repository;
+
+import com.banking.model.Role;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Keyset-paginated user listing, newest first. Implemented with the
+// Criteria API so only the filters actually given end up in the SQL.
+public interface UserDirectoryRepository {
+
+    // Users strictly after (afterCreatedAt, afterId) in (created_at, id)
+    // descending order; both null for the first page
+    List<UserSummary> findPage(Role role,
+                               Boolean verified,
+                               LocalDateTime afterCreatedAt,
+                               Long afterId,
+                               int limit);
+}
@@ -0,0 +1,68 @@
+package com.banking.repository;
+
+import com.banking.model.Role;
+import com.banking.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserDirectoryRepositoryImpl implements UserDirectoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummary> findPage(Role role,
+                                      Boolean verified,
+                                      LocalDateTime afterCreatedAt,
+                                      Long afterId,
+                                      int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> query = cb.createQuery(UserSummary.class);
+        Root<User> user = query.from(User.class);
+        Path<LocalDateTime> createdAt = user.get("createdAt");
+        Path<Long> id = user.get("id");
+
+        query.select(cb.construct(UserSummary.class,
+                id,
+                user.get("email"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("phone"),
+                user.get("role"),
+                user.get("isVerified"),
+                createdAt));
+
+        List<Predicate> where = new ArrayList<>();
+        if (role != null) {
+            where.add(cb.equal(user.get("role"), role));
+        }
+        if (verified != null) {
+            where.add(cb.equal(user.get("isVerified"), verified));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // Seek past the cursor. The redundant <= gives the planner a
+            // plain range condition on the index's leading column.
+            where.add(cb.lessThanOrEqualTo(createdAt, afterCreatedAt));
+            where.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.banking.repository;
+
+public interface UserIdRepository {
+
+    // Next user id from the entity's pooled optimizer: the same 50-id blocks
+    // that save() and saveAll() draw from, so native inserts burn no extra ids
+    Long nextUserId();
+}
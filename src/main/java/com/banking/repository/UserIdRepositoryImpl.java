@@ -0,0 +1,30 @@
+package com.banking.repository;
+
+import com.banking.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.transaction.annotation.Transactional;
+
+public class UserIdRepositoryImpl implements UserIdRepository {
+
+    // The shared, transaction-bound proxy, as @PersistenceContext would inject
+    private final EntityManager entityManager;
+
+    public UserIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // A new block may need a nextval(), which a read-only replica can't serve
+    @Override
+    @Transactional
+    public Long nextUserId() {
+        SharedSessionContractImplementor session =
+                entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(User.class)
+                .getGenerator();
+        return (Long) generator.generate(session, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.banking.repository;
+
+import com.banking.model.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    // Replaces the derived query: email is the natural id, so this is
+    // answered from the second-level cache when the user is in it
+    Optional<User> findByEmail(String email);
+}
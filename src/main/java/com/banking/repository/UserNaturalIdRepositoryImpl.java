@@ -0,0 +1,46 @@
+package com.banking.repository;
+
+import com.banking.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    // The shared, transaction-bound proxy, as @PersistenceContext would inject
+    private final EntityManager entityManager;
+    private final boolean replicaReads;
+
+    public UserNaturalIdRepositoryImpl(
+            EntityManager entityManager,
+            @Value("${datasource.replica.enabled:false}") boolean replicaReads) {
+        this.entityManager = entityManager;
+        this.replicaReads = replicaReads;
+    }
+
+    // Read-only like the derived query it replaces, so it still runs on a replica
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        Session session = entityManager.unwrap(Session.class);
+        if (!replicaReads || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return session.bySimpleNaturalId(User.class).loadOptional(email);
+        }
+
+        // A replica row can be up to max-lag old, and once in the second-level
+        // cache it would be served for the region's whole TTL. Read the cache
+        // but leave filling it to loads and writes on the primary.
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return session.bySimpleNaturalId(User.class).loadOptional(email);
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+}
@@ -2,14 +2,51 @@ package com.banking.repository;
 
 import com.banking.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>,
+        UserNaturalIdRepository, UserDirectoryRepository, UserIdRepository {
 
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Registration in one round-trip: returns the id, or empty when the email
+    // is already taken. Take the id from nextUserId(); the column default
+    // would consume a whole pooled block of ids per call.
+    // Needs its own read-write transaction; query methods default to read-only.
+    @Transactional
+    @Query(value = "INSERT INTO users (id, email, password, first_name, last_name, phone, role, " +
+            "is_verified, security_version, created_at, updated_at) " +
+            "VALUES (:id, :email, :password, :firstName, :lastName, :phone, :role, " +
+            "FALSE, 0, NOW(), NOW()) " +
+            "ON CONFLICT (email) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("id") Long id,
+                                  @Param("email") String email,
+                                  @Param("password") String password,
+                                  @Param("firstName") String firstName,
+                                  @Param("lastName") String lastName,
+                                  @Param("phone") String phone,
+                                  @Param("role") String role);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1, " +
+            "u.updatedAt = CURRENT_TIMESTAMP WHERE u.email = :email")
+    int incrementSecurityVersion(@Param("email") String email);
+
+    @Query("SELECT u.securityVersion FROM User u WHERE u.email = :email")
+    Optional<Long> findSecurityVersionByEmail(@Param("email") String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+}
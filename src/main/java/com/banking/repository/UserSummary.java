@@ -0,0 +1,18 @@
+package com.banking.repository;
+
+import com.banking.model.Role;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of a user for listings. Selected column by column,
+// so the password hash is never read and no entity is hydrated.
+public record UserSummary(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phone,
+        Role role,
+        Boolean isVerified,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,73 @@
+package com.banking.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Minimal thread-safe Bloom filter over strings. Answers "definitely absent"
+// or "possibly present"; sized from the expected insertions and target
+// false positive rate.
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.words = new AtomicLongArray((int) ((numBits + 63) >>> 6));
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    public void put(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = index(hashes, i);
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = index(hashes, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: index_i = h1 + i * h2
+    private long index(long[] hashes, int i) {
+        return Math.floorMod(hashes[0] + i * hashes[1], numBits);
+    }
+
+    private static long[] hash(String value) {
+        long h1 = 0x9E3779B97F4A7C15L;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h1 = (h1 ^ b) * 0x100000001B3L;
+            h2 = Long.rotateLeft(h2 ^ b, 31) * 0x9E3779B97F4A7C15L;
+        }
+        return new long[]{mix(h1), mix(h2) | 1};
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,20 +1,33 @@
 package com.banking.security;
 
+import com.banking.audit.AuditEventType;
+import com.banking.audit.AuditLog;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +35,38 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+    private final AuditLog auditLog;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    // auth.filter.outcome{outcome=...}, one counter per way a request can leave
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    enum Outcome {
+        AUTHENTICATED,
+        MISSING_HEADER,
+        MALFORMED,
+        BAD_SIGNATURE,
+        EXPIRED,
+        REVOKED,
+        UNKNOWN_USER,
+        STALE_VERSION,
+        INVALID
+    }
+
+    @PostConstruct
+    void init() {
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("auth.filter.outcome")
+                    .description("Bearer token authentication outcomes")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
 
     @Override
     protected void doFilterInternal(
@@ -33,28 +78,47 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Get Authorization header
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final VerifiedClaims claims;
 
         // Check if header exists and starts with Bearer
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            record(Outcome.MISSING_HEADER);
             filterChain.doFilter(request, response);
             return;
         }
 
         // Extract token (remove "Bearer " prefix)
         jwt = authHeader.substring(7);
-        userEmail = jwtTokenProvider.extractUsername(jwt);
+
+        // Verify signature and expiry exactly once for this request
+        try {
+            claims = jwtTokenProvider.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Tampered, malformed or expired: continue unauthenticated
+            reject(ex instanceof ExpiredJwtException ? Outcome.EXPIRED
+                    : ex instanceof SignatureException ? Outcome.BAD_SIGNATURE
+                    : Outcome.MALFORMED, null);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // In-memory Bloom filter check; Redis only on a possible hit
+        if (tokenRevocationService.isRevoked(claims)) {
+            reject(Outcome.REVOKED, claims.subject());
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         // If we have email and user not yet authenticated
-        if (userEmail != null &&
+        if (claims.subject() != null &&
                 SecurityContextHolder.getContext()
                         .getAuthentication() == null) {
 
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = resolveUser(claims);
 
             // Validate token
-            if (jwtTokenProvider.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null &&
+                    jwtTokenProvider.isTokenValid(claims, userDetails)) {
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -71,9 +135,67 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 // Set authentication in context
                 SecurityContextHolder.getContext()
                         .setAuthentication(authToken);
+
+                // Expose the claims for logout without parsing again
+                request.setAttribute(VerifiedClaims.REQUEST_ATTRIBUTE, claims);
+                record(Outcome.AUTHENTICATED);
+            } else if (userDetails != null) {
+                reject(Outcome.INVALID, claims.subject());
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Build the principal from the claims when the token is self-contained
+    // and its security version is still current; otherwise load the user.
+    // Returns null when the token was issued before an invalidation.
+    private UserDetails resolveUser(VerifiedClaims claims) {
+
+        if (statelessEnabled && claims.isSelfContained() &&
+                securityVersionRegistry.isCurrent(
+                        claims.subject(), claims.securityVersion())) {
+            return UserPrincipal.fromClaims(claims);
+        }
+
+        final UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.subject());
+        } catch (UsernameNotFoundException ex) {
+            reject(Outcome.UNKNOWN_USER, claims.subject());
+            return null;
+        }
+
+        // Reject tokens minted before the user's last invalidation
+        if (userDetails instanceof UserPrincipal principal &&
+                claims.securityVersion() != null &&
+                principal.getSecurityVersion() != claims.securityVersion()) {
+            securityVersionRegistry.advance(
+                    principal.getUsername(), principal.getSecurityVersion());
+            reject(Outcome.STALE_VERSION, claims.subject());
+            return null;
+        }
+
+        // The loaded user may be older than the invalidation broadcast, e.g.
+        // a cached or replica row; the registry already has the new version
+        if (claims.securityVersion() != null &&
+                !securityVersionRegistry.isCurrent(
+                        claims.subject(), claims.securityVersion())) {
+            reject(Outcome.STALE_VERSION, claims.subject());
+            return null;
+        }
+
+        return userDetails;
+    }
+
+    private void record(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    // A bearer token was presented and refused; counted and audited
+    private void reject(Outcome outcome, String subject) {
+        record(outcome);
+        auditLog.record(AuditEventType.TOKEN_REJECTED, subject,
+                outcome.name().toLowerCase(Locale.ROOT));
+    }
 }
\ No newline at end of file
@@ -1,33 +1,102 @@
 package com.banking.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.security.Key;
-import java.util.Base64;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SigningKeyRing signingKeyRing;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
-    // Generate token for user
+    // Built once at startup; keys are resolved per token by kid
+    private JwtParser jwtParser;
+
+    // auth.token.parse covers cache hits; auth.token.verify is the actual
+    // signature check and claims parse, tagged by result
+    private Timer issueTimer;
+    private Timer parseTimer;
+    private Timer verifyValidTimer;
+    private Timer verifyExpiredTimer;
+    private Timer verifyInvalidTimer;
+
+    @PostConstruct
+    void init() {
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return signingKeyRing.verificationKey(header);
+                    }
+                })
+                .build();
+
+        this.issueTimer = Timer.builder("auth.token.issue")
+                .description("Time to build and sign an access token")
+                .register(meterRegistry);
+        this.parseTimer = Timer.builder("auth.token.parse")
+                .description("Time to resolve a bearer token to claims, including cache hits")
+                .register(meterRegistry);
+        this.verifyValidTimer = verifyTimer("valid");
+        this.verifyExpiredTimer = verifyTimer("expired");
+        this.verifyInvalidTimer = verifyTimer("invalid");
+    }
+
+    private Timer verifyTimer(String result) {
+        return Timer.builder("auth.token.verify")
+                .description("Signature verification and claims parsing on a cache miss")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Generate token for user. Principals also get their id, role and
+    // security version embedded so the filter can skip the user lookup.
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(userDetails, null);
+    }
+
+    // Same, tied to a refresh token family so logout can end that session
+    public String generateToken(UserDetails userDetails, String refreshFamily) {
+        Map<String, Object> claims = new HashMap<>();
+        if (refreshFamily != null) {
+            claims.put(VerifiedClaims.CLAIM_REFRESH_FAMILY, refreshFamily);
+        }
+        if (userDetails instanceof UserPrincipal principal) {
+            if (principal.getId() != null) {
+                claims.put(VerifiedClaims.CLAIM_USER_ID, principal.getId());
+            }
+            claims.put(VerifiedClaims.CLAIM_ROLE, principal.getRole().name());
+            claims.put(VerifiedClaims.CLAIM_SECURITY_VERSION,
+                    principal.getSecurityVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     // Generate token with extra claims
@@ -35,20 +104,66 @@ public class JwtTokenProvider {
             Map<String, Object> extraClaims,
             UserDetails userDetails) {
 
-        return Jwts.builder()
+        long start = System.nanoTime();
+        SigningKeyRing.SigningKey signingKey = signingKeyRing.current();
+
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+
+        if (signingKey.kid() != null) {
+            builder = builder.header().keyId(signingKey.kid()).and();
+        }
+
+        String token = sign(builder, signingKey).compact();
+        issueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    public Duration accessTokenLifetime() {
+        return Duration.ofMillis(expiration);
+    }
+
+    // Verify signature and expiry once and hand back the claims; tokens seen
+    // before are served from the verified-token cache.
+    // Throws JwtException for tampered, malformed or expired tokens.
+    public VerifiedClaims parseToken(String token) {
+        long start = System.nanoTime();
+        try {
+            return verifiedTokenCache.get(token, this::verify);
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private VerifiedClaims verify(String token) {
+        long start = System.nanoTime();
+        Timer outcome = verifyInvalidTimer;
+        try {
+            VerifiedClaims claims = VerifiedClaims.from(extractAllClaims(token));
+            outcome = verifyValidTimer;
+            return claims;
+        } catch (ExpiredJwtException ex) {
+            outcome = verifyExpiredTimer;
+            throw ex;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Validate already verified claims against the loaded user
+    public boolean isTokenValid(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.subject() != null
+                && claims.subject().equals(userDetails.getUsername())
+                && !claims.isExpired();
     }
 
     // Validate token
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()))
-                && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
     }
 
     // Extract username from token
@@ -56,15 +171,6 @@ public class JwtTokenProvider {
         return extractClaim(token, Claims::getSubject);
     }
 
-    // Check if token expired
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     public <T> T extractClaim(String token,
                               Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
@@ -72,15 +178,16 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()  // Changed from parserBuilder()
-                .verifyWith(getSigningKey())  // Changed from setSigningKey()
-                .build()
-                .parseSignedClaims(token)  // Changed from parseClaimsJws()
-                .getPayload();  // Changed from getBody()
+        return jwtParser
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
-    private SecretKey getSigningKey() {  // Changed return type
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // The key ring pairs each key with a matching algorithm
+    @SuppressWarnings("unchecked")
+    private static <K extends Key> JwtBuilder sign(
+            JwtBuilder builder, SigningKeyRing.SigningKey signingKey) {
+        return builder.signWith((K) signingKey.key(),
+                (SecureDigestAlgorithm<? super K, ?>) signingKey.algorithm());
     }
 }
@@ -0,0 +1,21 @@
+package com.banking.security;
+
+import com.banking.model.User;
+import lombok.Getter;
+
+// Principal produced by a password login. Keeps the user row it was built
+// from, so tokens and the login response need no second lookup.
+@Getter
+public class LoginPrincipal extends UserPrincipal {
+
+    private final transient User user;
+
+    public LoginPrincipal(User user) {
+        super(user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.getSecurityVersion() != null ? user.getSecurityVersion() : 0L);
+        this.user = user;
+    }
+}
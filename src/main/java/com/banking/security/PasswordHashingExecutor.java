@@ -0,0 +1,148 @@
+package com.banking.security;
+
+import com.banking.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Dedicated, size-limited pool for CPU-heavy password hashing. At most
+// threads + queue-capacity request threads can be tied up in hashing;
+// anything beyond that fails fast with 503 instead of queueing behind
+// BCrypt and starving cheap requests of CPU and servlet workers.
+//
+// A timeout can only reclaim a hash that hasn't started: it is taken off the
+// queue. BCrypt never checks for interrupts, so one already running keeps
+// its worker busy until it finishes and the result is thrown away. Keep
+// queue-capacity at or below threads * timeout / hash time, so queued hashes
+// normally start and finish within the timeout.
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${auth.password-hashing.retry-after-seconds:2}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+
+        int poolSize = threads > 0
+                ? threads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task,
+                            "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.hash.queue.wait")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor,
+                        e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor,
+                        ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public String encode(Supplier<String> hash) {
+        return execute(hash, encodeTimer);
+    }
+
+    public boolean matches(Supplier<Boolean> check) {
+        return execute(check, matchesTimer);
+    }
+
+    private <T> T execute(Supplier<T> task, Timer timer) {
+        long submittedAt = System.nanoTime();
+
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.record(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            abandon(future);
+            rejectedCounter.increment();
+            throw overloaded();
+        } catch (InterruptedException ex) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Frees the queue slot of a hash that hasn't started; a running one
+    // can't be stopped and completes in the background
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable queued) {
+            executor.remove(queued);
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException(
+                "Authentication is busy, please retry shortly", retryAfterSeconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+package com.banking.security;
+
+import com.banking.exception.TooManyRequestsException;
+import com.banking.service.QuotaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+// Runs after JwtAuthFilter and charges each authenticated request to the
+// caller's quota. Anonymous requests pass through; login has its own
+// throttle. Rejections are rendered by GlobalExceptionHandler like any
+// other 429, with the RateLimit-* headers added here.
+@Component
+public class QuotaFilter extends OncePerRequestFilter {
+
+    private final QuotaService quotaService;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public QuotaFilter(
+            QuotaService quotaService,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.quotaService = quotaService;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null ||
+                !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String subject = principal.getId() != null
+                ? principal.getId().toString()
+                : principal.getUsername();
+        QuotaService.Decision decision = quotaService.acquire(subject, principal.getRole());
+
+        if (decision.isLimited()) {
+            response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+            response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+            response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        }
+
+        if (!decision.allowed()) {
+            exceptionResolver.resolveException(request, response, null,
+                    new TooManyRequestsException("Request quota exceeded",
+                            Math.max(1, decision.resetSeconds())));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,35 @@
+package com.banking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Per-node record of the minimum security version each recently invalidated
+// user must present. Users without an entry have never been invalidated
+// within a token lifetime, so their claims can be trusted as-is.
+@Component
+public class SecurityVersionRegistry {
+
+    // No size bound on purpose: evicting an entry early would re-admit
+    // revoked tokens. Entries are useless once every older token expired.
+    private final Cache<String, Long> minimumVersions;
+
+    public SecurityVersionRegistry(@Value("${jwt.expiration}") long expiration) {
+        this.minimumVersions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .build();
+    }
+
+    public boolean isCurrent(String email, long securityVersion) {
+        Long minimum = minimumVersions.getIfPresent(email);
+        return minimum == null || securityVersion >= minimum;
+    }
+
+    // Record a newer version; never moves an entry backwards
+    public void advance(String email, long securityVersion) {
+        minimumVersions.asMap().merge(email, securityVersion, Math::max);
+    }
+}
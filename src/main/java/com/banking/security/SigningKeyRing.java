@@ -0,0 +1,319 @@
+package com.banking.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Owns the keys used to sign and verify access tokens.
+//
+// HS256 mode signs with the shared jwt.secret, emits no kid and rejects any
+// token that carries one, so Redis is never consulted for it. ES256 mode
+// gives every node its own P-256 key pair, rotated on a schedule. Private
+// keys never leave the node; public keys are published to Redis under their
+// kid so any node (and anything reading the JWKS endpoint) can verify any
+// other node's tokens. In ES256 mode a token without a kid is rejected: the
+// HMAC secret is shared configuration, so accepting it would let anyone who
+// has it mint tokens. A switch-over from HS256 can keep pre-rotation tokens
+// valid with jwt.signing.legacy-hs256-until, which accepts them only until
+// the given instant.
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+
+    private static final String KEY_PREFIX = "jwt:keys:";
+    private static final String CURVE = "secp256r1";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jwt.secret}")
+    private String secretKey;
+
+    @Value("${jwt.expiration}")
+    private long expiration;
+
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String algorithm;
+
+    @Value("${jwt.signing.rotation-interval-ms:21600000}")
+    private long rotationInterval;
+
+    @Value("${jwt.signing.redis.enabled:true}")
+    private boolean sharedKeysEnabled;
+
+    // ISO-8601 instant; empty (the default) means no legacy tokens in ES256 mode
+    @Value("${jwt.signing.legacy-hs256-until:}")
+    private String legacyHmacUntil;
+
+    private final SecureRandom random = new SecureRandom();
+    private SecretKey hmacKey;
+    private ECParameterSpec curveParams;
+    private Instant legacyHmacDeadline;
+
+    private volatile SigningKey current;
+
+    // kid -> public key. Own keys are kept until every token they signed
+    // has expired; peer keys mirror what is currently published in Redis.
+    private final Map<String, VerificationKey> ownKeys = new ConcurrentHashMap<>();
+    private volatile Map<String, VerificationKey> peerKeys = Map.of();
+
+    // Unknown kids looked up recently, so forged kids can't hammer Redis
+    private final Cache<String, Boolean> unknownKids = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .maximumSize(10_000)
+            .build();
+
+    public SigningKeyRing(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() {
+        this.hmacKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(CURVE));
+            this.curveParams = parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("P-256 curve not available", ex);
+        }
+
+        if (legacyHmacUntil != null && !legacyHmacUntil.isBlank()) {
+            this.legacyHmacDeadline = Instant.parse(legacyHmacUntil.trim());
+        }
+
+        if (ES256.equals(algorithm)) {
+            rotate();
+            refreshPeerKeys();
+        } else {
+            this.current = new SigningKey(null, hmacKey, Jwts.SIG.HS256);
+        }
+    }
+
+    public SigningKey current() {
+        return current;
+    }
+
+    // Key locator used by the parser; null kid means an HMAC token
+    public Key verificationKey(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return acceptsHmac() ? hmacKey : null;
+        }
+        if (!ES256.equals(algorithm)) {
+            // HS256 tokens never carry a kid, so this one is forged
+            return null;
+        }
+
+        VerificationKey key = ownKeys.get(kid);
+        if (key == null) {
+            key = peerKeys.get(kid);
+        }
+        if (key == null) {
+            key = fetchPeerKey(kid);
+        }
+        // The parser rejects the token when no key is found
+        return key != null ? key.publicKey() : null;
+    }
+
+    private boolean acceptsHmac() {
+        if (!ES256.equals(algorithm)) {
+            return true;
+        }
+        return legacyHmacDeadline != null && Instant.now().isBefore(legacyHmacDeadline);
+    }
+
+    // Public keys in JWK form for /.well-known/jwks.json
+    public List<Map<String, String>> publicJwks() {
+        Map<String, VerificationKey> all = new LinkedHashMap<>(peerKeys);
+        all.putAll(ownKeys);
+        List<Map<String, String>> jwks = new ArrayList<>();
+        all.forEach((kid, key) -> jwks.add(toJwk(kid, key.publicKey())));
+        return jwks;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.rotation-interval-ms:21600000}",
+            initialDelayString = "${jwt.signing.rotation-interval-ms:21600000}")
+    public void rotate() {
+        if (!ES256.equals(algorithm)) {
+            return;
+        }
+
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(CURVE), random);
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to generate signing key", ex);
+        }
+
+        byte[] kidBytes = new byte[12];
+        random.nextBytes(kidBytes);
+        String kid = Base64.getUrlEncoder().withoutPadding().encodeToString(kidBytes);
+
+        // Verifiable until the last token signed before the next rotation expires
+        Instant retireAt = Instant.now()
+                .plusMillis(rotationInterval)
+                .plusMillis(expiration);
+        ownKeys.put(kid, new VerificationKey(keyPair.getPublic(), retireAt));
+        ownKeys.values().removeIf(key -> key.retireAt().isBefore(Instant.now()));
+
+        publish(kid, keyPair.getPublic(), retireAt);
+        this.current = new SigningKey(kid, keyPair.getPrivate(), Jwts.SIG.ES256);
+        log.info("Rotated JWT signing key, new kid {}", kid);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.peer-refresh-interval-ms:60000}")
+    public void refreshPeerKeys() {
+        if (!ES256.equals(algorithm) || !sharedKeysEnabled) {
+            return;
+        }
+
+        Map<String, VerificationKey> refreshed = new ConcurrentHashMap<>();
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*")
+                .count(100)
+                .build())) {
+            keys.forEachRemaining(key -> {
+                String kid = key.substring(KEY_PREFIX.length());
+                VerificationKey peer = readPeerKey(kid);
+                if (peer != null) {
+                    refreshed.put(kid, peer);
+                }
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Failed to refresh JWT verification keys: {}", ex.getMessage());
+            return;
+        }
+        this.peerKeys = refreshed;
+    }
+
+    private VerificationKey fetchPeerKey(String kid) {
+        if (!sharedKeysEnabled || unknownKids.getIfPresent(kid) != null) {
+            return null;
+        }
+        try {
+            VerificationKey key = readPeerKey(kid);
+            if (key == null) {
+                unknownKids.put(kid, Boolean.TRUE);
+            }
+            return key;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to fetch JWT verification key {}: {}", kid, ex.getMessage());
+            return null;
+        }
+    }
+
+    private VerificationKey readPeerKey(String kid) {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + kid);
+        if (json == null) {
+            return null;
+        }
+        try {
+            Map<String, String> jwk = objectMapper.readValue(json, new TypeReference<>() {
+            });
+            return new VerificationKey(fromJwk(jwk), null);
+        } catch (JsonProcessingException | GeneralSecurityException ex) {
+            log.warn("Ignoring malformed JWK {}: {}", kid, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void publish(String kid, PublicKey publicKey, Instant retireAt) {
+        if (!sharedKeysEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + kid,
+                    objectMapper.writeValueAsString(toJwk(kid, publicKey)),
+                    Duration.between(Instant.now(), retireAt));
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("Failed to publish JWT verification key {}: {}", kid, ex.getMessage());
+        }
+    }
+
+    private Map<String, String> toJwk(String kid, PublicKey publicKey) {
+        ECPoint point = ((ECPublicKey) publicKey).getW();
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("use", "sig");
+        jwk.put("alg", ES256);
+        jwk.put("kid", kid);
+        jwk.put("x", encodeCoordinate(point.getAffineX()));
+        jwk.put("y", encodeCoordinate(point.getAffineY()));
+        return jwk;
+    }
+
+    private PublicKey fromJwk(Map<String, String> jwk) throws GeneralSecurityException {
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("x"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("y"))));
+        return KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, curveParams));
+    }
+
+    // JWK coordinates are unsigned, big-endian and exactly 32 bytes for P-256
+    private static String encodeCoordinate(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    public record SigningKey(
+            String kid,
+            Key key,
+            SecureDigestAlgorithm<?, ?> algorithm) {
+    }
+
+    private record VerificationKey(PublicKey publicKey, Instant retireAt) {
+    }
+}
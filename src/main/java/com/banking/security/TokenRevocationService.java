@@ -0,0 +1,250 @@
+package com.banking.security;
+
+import com.banking.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Revoked token ids (jti) live in Redis until the token would have expired.
+// Each node mirrors them in a Bloom filter, so the per-request check is an
+// in-memory "definitely not revoked" and Redis is only asked on a possible hit.
+// The filter is loaded at startup; while no load has succeeded yet, every
+// check goes to Redis and fails closed. fail-open-until-loaded opts into
+// accepting tokens unchecked (and counted) instead.
+//
+// A revocation that can't be written to Redis is still enforced on this node
+// and written by a later refresh, but the caller gets a 503: other nodes
+// don't know about it yet.
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private static final String KEY_PREFIX = "tokens:revoked:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    @Value("${jwt.revocation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.revocation.channel:tokens:revoked}")
+    private String channel;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.fail-open-until-loaded:false}")
+    private boolean failOpenUntilLoaded;
+
+    @Value("${jwt.revocation.retry-interval-ms:1000}")
+    private long retryIntervalMs;
+
+    // Null until the first successful load
+    private volatile BloomFilter filter;
+    private final Counter unchecked;
+
+    // Ids revoked while a rebuild is scanning Redis, replayed before the swap
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // Revocations Redis didn't take, with their token's expiry; enforced here
+    // and written to Redis by the next refresh that reaches it
+    private final Map<String, Instant> unpublished = new ConcurrentHashMap<>();
+    private final ReentrantLock swapLock = new ReentrantLock();
+
+    public TokenRevocationService(
+            StringRedisTemplate redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.unchecked = Counter.builder("auth.revocation.unchecked")
+                .description("Tokens accepted without a revocation check, failing open before the first load")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> addLocally(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)));
+        refresh();
+    }
+
+    public void revoke(VerifiedClaims claims) {
+        String tokenId = claims.tokenId();
+        if (!enabled || tokenId == null || claims.expiresAt() == null) {
+            return;
+        }
+
+        Duration ttl = Duration.between(Instant.now(), claims.expiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+
+        // Redis first, so a concurrent rebuild either scans it or sees it pending
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", ttl);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to store token revocation, enforcing locally: {}", ex.getMessage());
+            unpublished.put(tokenId, claims.expiresAt());
+            addLocally(tokenId);
+            throw new ServiceOverloadedException(
+                    "Logout could not be completed on all servers, please retry",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryIntervalMs)));
+        }
+        addLocally(tokenId);
+        broadcast(tokenId);
+    }
+
+    public boolean isRevoked(VerifiedClaims claims) {
+        String tokenId = claims.tokenId();
+        if (!enabled || tokenId == null) {
+            return false;
+        }
+
+        if (unpublished.containsKey(tokenId)) {
+            return true;
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            // Redis was unreachable at startup; loadIfMissing keeps retrying
+            if (failOpenUntilLoaded) {
+                unchecked.increment();
+                return false;
+            }
+            return lookup(tokenId);
+        }
+        if (!current.mightContain(tokenId)) {
+            return false;
+        }
+        return lookup(tokenId);
+    }
+
+    // Only a false-positive-rate share of live tokens gets here once the
+    // filter is loaded
+    private boolean lookup(String tokenId) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+        } catch (DataAccessException ex) {
+            // No way to confirm: fail closed
+            log.warn("Revocation lookup failed, rejecting token: {}", ex.getMessage());
+            return true;
+        }
+    }
+
+    // Retries the startup load until one succeeds, so a node that came up
+    // while Redis was down doesn't stay unchecked for a full refresh interval
+    @Scheduled(fixedDelayString = "${jwt.revocation.retry-interval-ms:1000}",
+            initialDelayString = "${jwt.revocation.retry-interval-ms:1000}")
+    public void loadIfMissing() {
+        if (filter == null) {
+            refresh();
+        }
+    }
+
+    // Rebuild from Redis so expired revocations drop out of the filter
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${jwt.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        publishUnpublished();
+        pending.clear();
+        List<String> tokenIds = new ArrayList<>();
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*")
+                .count(1000)
+                .build())) {
+            keys.forEachRemaining(key -> tokenIds.add(key.substring(KEY_PREFIX.length())));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to refresh revocation filter: {}", ex.getMessage());
+            return;
+        }
+
+        BloomFilter rebuilt = BloomFilter.create(
+                Math.max(expectedRevocations, tokenIds.size() * 2L), falsePositiveRate);
+        tokenIds.forEach(rebuilt::put);
+
+        swapLock.lock();
+        try {
+            pending.forEach(rebuilt::put);
+            pending.clear();
+            unpublished.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    // Stops at the first failure; the rest wait for the next refresh
+    private void publishUnpublished() {
+        Instant now = Instant.now();
+        for (Map.Entry<String, Instant> entry : unpublished.entrySet()) {
+            Duration ttl = Duration.between(now, entry.getValue());
+            if (ttl.isNegative() || ttl.isZero()) {
+                unpublished.remove(entry.getKey());
+                continue;
+            }
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + entry.getKey(), "1", ttl);
+            } catch (DataAccessException ex) {
+                return;
+            }
+            unpublished.remove(entry.getKey());
+            broadcast(entry.getKey());
+        }
+    }
+
+    // Best effort: nodes that miss it pick the id up on their next refresh
+    private void broadcast(String tokenId) {
+        try {
+            redisTemplate.convertAndSend(channel, tokenId);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to broadcast token revocation: {}", ex.getMessage());
+        }
+    }
+
+    private void addLocally(String tokenId) {
+        swapLock.lock();
+        try {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(tokenId);
+            }
+            pending.add(tokenId);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+}
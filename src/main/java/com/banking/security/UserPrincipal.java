@@ -0,0 +1,51 @@
+package com.banking.security;
+
+import com.banking.model.Role;
+import com.banking.model.User;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// Authenticated user as seen by the security layer. Carries the id and
+// security version so the token can be issued and checked without a lookup.
+@Getter
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final Role role;
+    private final long securityVersion;
+
+    public UserPrincipal(Long id,
+                         String email,
+                         String password,
+                         Role role,
+                         long securityVersion) {
+        super(email, password, List.of(
+                new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.role = role;
+        this.securityVersion = securityVersion;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.getSecurityVersion() != null ? user.getSecurityVersion() : 0L
+        );
+    }
+
+    // Rebuild the principal from verified claims; no password is available
+    public static UserPrincipal fromClaims(VerifiedClaims claims) {
+        return new UserPrincipal(
+                claims.userId(),
+                claims.subject(),
+                "",
+                Role.valueOf(claims.role()),
+                claims.securityVersion()
+        );
+    }
+}
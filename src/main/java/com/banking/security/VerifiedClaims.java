@@ -0,0 +1,71 @@
+package com.banking.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+// Claims of a token whose signature and expiry have already been checked.
+// Produced once per request so callers never re-parse the compact token.
+public record VerifiedClaims(
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        Claims claims) {
+
+    // Request attribute under which the filter exposes the caller's claims
+    public static final String REQUEST_ATTRIBUTE = "com.banking.security.VerifiedClaims";
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String CLAIM_REFRESH_FAMILY = "fid";
+
+    public static VerifiedClaims from(Claims claims) {
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims
+        );
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    public String tokenId() {
+        return claims.getId();
+    }
+
+    public Long userId() {
+        return longClaim(CLAIM_USER_ID);
+    }
+
+    public String role() {
+        return claims.get(CLAIM_ROLE, String.class);
+    }
+
+    public Long securityVersion() {
+        return longClaim(CLAIM_SECURITY_VERSION);
+    }
+
+    // Refresh token family the access token was issued with, if any
+    public String refreshFamily() {
+        return claims.get(CLAIM_REFRESH_FAMILY, String.class);
+    }
+
+    // True when the token carries everything needed to skip the user lookup
+    public boolean isSelfContained() {
+        return role() != null && securityVersion() != null;
+    }
+
+    // JSON numbers may come back as Integer or Long depending on magnitude
+    private Long longClaim(String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
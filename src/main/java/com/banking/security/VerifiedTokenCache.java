@@ -0,0 +1,116 @@
+package com.banking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+// Remembers tokens whose signature was already verified, keyed by the SHA-256
+// of the compact token, so repeat calls skip HMAC verification and claims
+// deserialization. Entries never outlive the token's own expiry.
+@Component
+public class VerifiedTokenCache {
+
+    private static final MessageDigest SHA_256_PROTOTYPE = sha256();
+
+    private final boolean enabled;
+    private final Cache<TokenDigest, VerifiedClaims> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:true}") boolean enabled,
+            @Value("${jwt.cache.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    // Return cached claims for the token, or verify it with the given parser.
+    // Failed verifications propagate and are never cached.
+    public VerifiedClaims get(String token, Function<String, VerifiedClaims> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedClaims cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedClaims verified = verifier.apply(token);
+        cache.put(key, verified);
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // 256-bit digest held as four longs to avoid a String/byte[] per lookup
+    record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(newDigest()
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(
+                    digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+    }
+
+    private static final class UntilTokenExpiry
+            implements Expiry<TokenDigest, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedClaims value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedClaims value,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedClaims value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // Cloning a prototype is cheaper than a provider lookup per call
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) SHA_256_PROTOTYPE.clone();
+        } catch (CloneNotSupportedException ex) {
+            return sha256();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.service;
+
+import com.banking.dto.request.OpenAccountRequest;
+import com.banking.dto.response.AccountResponse;
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.InvalidRequestException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AccountService {
+
+    private final AccountRepository accountRepository;
+    private final String defaultCurrency;
+
+    public AccountService(
+            AccountRepository accountRepository,
+            @Value("${ledger.default-currency:GBP}") String defaultCurrency) {
+        this.accountRepository = accountRepository;
+        this.defaultCurrency = defaultCurrency;
+    }
+
+    // Accounts open empty; money only arrives through the ledger
+    @Transactional
+    public AccountResponse open(Long userId, OpenAccountRequest request) {
+        if (request.getType() == AccountType.SETTLEMENT) {
+            throw new InvalidRequestException("Settlement accounts cannot be opened");
+        }
+        String currency = request.getCurrency() != null ? request.getCurrency() : defaultCurrency;
+        // A currency is supported once it has a settlement account to fund it
+        if (!accountRepository.existsByTypeAndCurrency(AccountType.SETTLEMENT, currency)) {
+            throw new InvalidRequestException("Unsupported currency " + currency);
+        }
+
+        Account account = accountRepository.save(Account.builder()
+                .userId(userId)
+                .type(request.getType())
+                .currency(currency)
+                .build());
+        return toResponse(account);
+    }
+
+    // Served by a replica when one is configured; balances may lag by the
+    // replica delay, the transfer response always has the current one
+    @Transactional(readOnly = true)
+    public List<AccountResponse> list(Long userId) {
+        return accountRepository.findByUserIdOrderById(userId).stream()
+                .map(AccountService::toResponse)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public AccountResponse get(Long userId, Long accountId) {
+        return accountRepository.findByIdAndUserId(accountId, userId)
+                .map(AccountService::toResponse)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    private static AccountResponse toResponse(Account account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .type(account.getType().name())
+                .currency(account.getCurrency())
+                .balance(account.getBalance())
+                .createdAt(account.getCreatedAt())
+                .build();
+    }
+}
@@ -1,15 +1,31 @@
 package com.banking.service;
 
+import com.banking.audit.AuditEventType;
+import com.banking.audit.AuditLog;
+import com.banking.dto.request.LoginRequest;
+import com.banking.dto.request.RefreshTokenRequest;
 import com.banking.dto.request.RegisterRequest;
 import com.banking.dto.response.AuthResponse;
+import com.banking.exception.EmailAlreadyExistsException;
+import com.banking.exception.InvalidRefreshTokenException;
 import com.banking.model.Role;
 import com.banking.model.User;
 import com.banking.repository.UserRepository;
 import com.banking.security.JwtTokenProvider;
+import com.banking.security.LoginPrincipal;
+import com.banking.security.TokenRevocationService;
+import com.banking.security.UserPrincipal;
+import com.banking.security.VerifiedClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,14 +35,17 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityVersionService securityVersionService;
+    private final LoginAttemptService loginAttemptService;
+    private final RefreshTokenService refreshTokenService;
+    private final ReadYourWritesWindow readYourWrites;
+    private final EmailVerificationService emailVerificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLog auditLog;
 
     public AuthResponse register(RegisterRequest request) {
 
-        // Check if email exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already registered");
-        }
-
         // Create user
         User user = User.builder()
                 .email(request.getEmail())
@@ -38,20 +57,117 @@ public class AuthService {
                 .isVerified(false)
                 .build();
 
-        userRepository.save(user);
+        // Single insert; the unique email constraint decides duplicates, so
+        // concurrent registrations for the same email can't both succeed.
+        // The verification email is queued in the same transaction and sent
+        // later by the outbox dispatcher. BCrypt above runs outside it.
+        Long id = transactionTemplate.execute(status -> {
+            Long userId = userRepository.insertIfAbsent(
+                            userRepository.nextUserId(),
+                            user.getEmail(),
+                            user.getPassword(),
+                            user.getFirstName(),
+                            user.getLastName(),
+                            user.getPhone(),
+                            user.getRole().name())
+                    .orElseThrow(() -> new EmailAlreadyExistsException("Email already registered"));
+            emailVerificationService.requestVerification(
+                    userId, user.getEmail(), user.getFirstName());
+            return userId;
+        });
+        user.setId(id);
 
-        // Generate token
-        var userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .roles(user.getRole().name())
-                .build();
+        // The client's next calls may land before replicas replay the insert
+        readYourWrites.recordWrite(user.getEmail());
+        auditLog.record(AuditEventType.REGISTERED, user.getEmail());
+
+        return issueTokens(user, UserPrincipal.from(user));
+    }
+
+    public AuthResponse login(LoginRequest request, String clientIp) {
+
+        // Reject throttled callers before any password hashing happens; the
+        // attempt is counted as a failure until the password checks out
+        LoginAttemptService.Attempt attempt =
+                loginAttemptService.reserve(request.getEmail(), clientIp);
+
+        final Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(), request.getPassword()));
+        } catch (BadCredentialsException ex) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, request.getEmail());
+            throw ex;
+        } catch (RuntimeException ex) {
+            // No verdict on the password (hashing pool full, user store down)
+            loginAttemptService.release(attempt);
+            throw ex;
+        }
+
+        loginAttemptService.recordSuccess(attempt);
+        auditLog.record(AuditEventType.LOGIN_SUCCEEDED, request.getEmail());
+
+        // loadUserForLogin already read the row; reuse it rather than query again
+        LoginPrincipal principal = (LoginPrincipal) authentication.getPrincipal();
+        return issueTokens(principal.getUser(), principal);
+    }
+
+    // Exchange a refresh token for a new access token and the next refresh
+    // token. No password check: a Redis lookup plus one indexed user query.
+    public AuthResponse refresh(RefreshTokenRequest request) {
 
-        String token = jwtTokenProvider.generateToken(userDetails);
+        RefreshTokenService.RefreshToken next =
+                refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = findUser(next.email())
+                .orElseThrow(() -> {
+                    refreshTokenService.revokeFamily(next.familyId());
+                    return new InvalidRefreshTokenException("Invalid or expired refresh token");
+                });
+
+        String token = jwtTokenProvider.generateToken(
+                UserPrincipal.from(user), next.familyId());
+        auditLog.record(AuditEventType.TOKEN_REFRESHED, user.getEmail());
+        return buildResponse(user, token, next.token());
+    }
+
+    // Revoke the token the caller is currently using, and its refresh family
+    public void logout(VerifiedClaims claims) {
+        tokenRevocationService.revoke(claims);
+        refreshTokenService.revokeFamily(claims.refreshFamily());
+        auditLog.record(AuditEventType.LOGOUT, claims.subject());
+    }
+
+    // Revoke every token issued to the user, on all devices
+    public void logoutAll(String email) {
+        securityVersionService.invalidate(email);
+        refreshTokenService.revokeAll(email);
+        auditLog.record(AuditEventType.LOGOUT_ALL, email);
+    }
+
+    public void verifyEmail(String token) {
+        String email = emailVerificationService.verify(token);
+        auditLog.record(AuditEventType.EMAIL_VERIFIED, email);
+    }
+
+    private Optional<User> findUser(String email) {
+        return readYourWrites.find(email, () -> userRepository.findByEmail(email));
+    }
+
+    // Start a refresh token family and mint an access token tied to it
+    private AuthResponse issueTokens(User user, UserPrincipal principal) {
+        RefreshTokenService.RefreshToken refreshToken =
+                refreshTokenService.issue(user.getEmail());
+        String token = jwtTokenProvider.generateToken(principal, refreshToken.familyId());
+        return buildResponse(user, token, refreshToken.token());
+    }
 
-        // Return response
+    private AuthResponse buildResponse(User user, String token, String refreshToken) {
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtTokenProvider.accessTokenLifetime().toSeconds())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
@@ -0,0 +1,116 @@
+package com.banking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Periodically snapshots the balance of every account that changed since
+// its last checkpoint. Balances are read from the account row, never summed
+// from the journal; the journal is only summed from the previous checkpoint
+// onwards, as a cross-check that stays cheap however long the history gets.
+// The statement runs on one MVCC snapshot, and an account row and its
+// entries commit together, so the two sides always describe the same version.
+// Checkpoints are keyed by (account, version), so concurrent runs on several
+// nodes insert each snapshot once.
+@Slf4j
+@Service
+public class BalanceCheckpointService {
+
+    private static final String CHECKPOINT = """
+            WITH latest AS (
+                SELECT account_id, MAX(account_version) AS account_version
+                FROM balance_checkpoints GROUP BY account_id
+            ), due AS (
+                SELECT a.id, a.version, a.balance,
+                       COALESCE(l.account_version, 0) AS since_version,
+                       COALESCE(c.balance, 0) AS since_balance
+                FROM accounts a
+                LEFT JOIN latest l ON l.account_id = a.id
+                LEFT JOIN balance_checkpoints c
+                       ON c.account_id = l.account_id AND c.account_version = l.account_version
+                WHERE a.version > COALESCE(l.account_version, 0)
+            )
+            INSERT INTO balance_checkpoints (account_id, account_version, balance, journal_balance, created_at)
+            SELECT d.id, d.version, d.balance,
+                   d.since_balance + COALESCE((
+                       SELECT SUM(e.amount) FROM ledger_entries e
+                       WHERE e.account_id = d.id
+                         AND e.account_version > d.since_version
+                         AND e.account_version <= d.version), 0),
+                   NOW()
+            FROM due d
+            ON CONFLICT DO NOTHING
+            RETURNING account_id, account_version, balance, journal_balance
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Counter written;
+    private final Counter mismatches;
+
+    public BalanceCheckpointService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.checkpoint.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.written = Counter.builder("ledger.checkpoints")
+                .description("Balance checkpoints written")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("ledger.checkpoint.mismatches")
+                .description("Checkpoints whose balance disagrees with the journal")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval-ms:300000}",
+            initialDelayString = "${ledger.checkpoint.interval-ms:300000}")
+    public void scheduledCheckpoint() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (DataAccessException ex) {
+            log.warn("Balance checkpoint failed: {}", ex.getMessage());
+        }
+    }
+
+    // Returns the new checkpoints whose balance and journal disagree
+    public List<Checkpoint> checkpoint() {
+        List<Checkpoint> checkpoints = jdbcTemplate.query(CHECKPOINT, (row, rowNum) -> new Checkpoint(
+                row.getLong("account_id"),
+                row.getLong("account_version"),
+                row.getBigDecimal("balance"),
+                row.getBigDecimal("journal_balance")));
+        written.increment(checkpoints.size());
+
+        List<Checkpoint> drifted = checkpoints.stream()
+                .filter(Checkpoint::isDrifted)
+                .toList();
+        mismatches.increment(drifted.size());
+        drifted.forEach(checkpoint -> log.error(
+                "Account {} at version {} has balance {} but its journal sums to {}",
+                checkpoint.accountId(), checkpoint.accountVersion(),
+                checkpoint.balance(), checkpoint.journalBalance()));
+        return drifted;
+    }
+
+    public record Checkpoint(
+            long accountId,
+            long accountVersion,
+            BigDecimal balance,
+            BigDecimal journalBalance) {
+
+        boolean isDrifted() {
+            return balance.compareTo(journalBalance) != 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.banking.service;
+
+import com.banking.exception.InvalidRequestException;
+import com.banking.mail.EmailMessage;
+import com.banking.model.EmailVerificationToken;
+import com.banking.model.OutboxMessage;
+import com.banking.model.User;
+import com.banking.repository.EmailVerificationTokenRepository;
+import com.banking.repository.OutboxRepository;
+import com.banking.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+// Email verification. Registration writes an outbox row naming the user, in
+// the registration transaction; OutboxDispatcher sends the email afterwards,
+// so registration never waits on mail delivery. The token is minted only
+// when the email is rendered for sending: it exists in plaintext in that
+// email alone, and the database holds nothing but its SHA-256. A retried
+// send mints a fresh token; earlier ones stay valid until one is used.
+@Service
+public class EmailVerificationService {
+
+    // Outbox type for rows whose payload is a VerificationEmail
+    public static final String OUTBOX_TYPE = "EMAIL_VERIFICATION";
+
+    private static final String INVALID_TOKEN = "Invalid or expired verification token";
+
+    private final EmailVerificationTokenRepository tokenRepository;
+    private final OutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration tokenTtl;
+    private final String verificationUrl;
+    private final SecureRandom random = new SecureRandom();
+
+    public EmailVerificationService(
+            EmailVerificationTokenRepository tokenRepository,
+            OutboxRepository outboxRepository,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            @Value("${email-verification.token-ttl:24h}") Duration tokenTtl,
+            @Value("${email-verification.url:http://localhost:8080/api/v1/auth/verify-email?token=}")
+            String verificationUrl) {
+        this.tokenRepository = tokenRepository;
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.tokenTtl = tokenTtl;
+        this.verificationUrl = verificationUrl;
+    }
+
+    // Must join the caller's transaction, so the email exists iff the user does
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void requestVerification(Long userId, String email, String firstName) {
+        outboxRepository.save(OutboxMessage.builder()
+                .type(OUTBOX_TYPE)
+                .payload(toJson(new VerificationEmail(userId, email, firstName)))
+                .build());
+    }
+
+    // Called by the dispatcher for each send attempt. Empty when there is
+    // nothing to send any more: the user is gone or already verified.
+    @Transactional
+    public Optional<EmailMessage> render(VerificationEmail request) {
+        if (userRepository.findById(request.userId())
+                .map(user -> Boolean.TRUE.equals(user.getIsVerified()))
+                .orElse(true)) {
+            return Optional.empty();
+        }
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        tokenRepository.save(EmailVerificationToken.builder()
+                .tokenHash(sha256(token))
+                .userId(request.userId())
+                .expiresAt(LocalDateTime.now().plus(tokenTtl))
+                .build());
+
+        return Optional.of(new EmailMessage(
+                request.email(),
+                "Confirm your email address",
+                "Hi " + request.firstName() + ",\n\n" +
+                        "Please confirm your email address by opening this link:\n" +
+                        verificationUrl + token + "\n\n" +
+                        "The link expires in " + tokenTtl.toHours() + " hours.\n"));
+    }
+
+    // Returns the verified user's email
+    @Transactional
+    public String verify(String token) {
+
+        EmailVerificationToken stored = tokenRepository.findById(sha256(token))
+                .filter(t -> t.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new InvalidRequestException(INVALID_TOKEN));
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new InvalidRequestException(INVALID_TOKEN));
+
+        // Entity update: refreshes updated_at and the second-level cache,
+        // and UserChangeListener tells the other nodes
+        user.setIsVerified(true);
+        tokenRepository.deleteByUserId(user.getId());
+        return user.getEmail();
+    }
+
+    private String toJson(VerificationEmail message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize email", ex);
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // Outbox payload: who to send a verification email to, never the token
+    public record VerificationEmail(Long userId, String email, String firstName) {
+    }
+}
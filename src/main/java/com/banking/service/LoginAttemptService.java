@@ -0,0 +1,179 @@
+package com.banking.service;
+
+import com.banking.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Sliding-window failed-login counters in Redis, keyed by email and by
+// client IP. An attempt is reserved before the AuthenticationManager runs:
+// one script checks both windows and, when under the limits, counts the
+// attempt as a failure up front. Parallel guesses therefore can't all pass
+// a check before any of them is recorded. A successful login gives the
+// reservation back; a wrong password keeps it. Once a key is over its limit
+// the block is also remembered locally and repeat attempts skip Redis.
+@Slf4j
+@Service
+public class LoginAttemptService {
+
+    private static final String EMAIL_PREFIX = "login:failures:email:";
+    private static final String IP_PREFIX = "login:failures:ip:";
+
+    // Trims each window; returns {index of the first key at its limit, its
+    // oldest score}, or {0, 0} after adding the attempt to every key
+    private static final RedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            for i, key in ipairs(KEYS) do
+              redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+              if redis.call('ZCARD', key) >= tonumber(ARGV[3 + i]) then
+                local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                return {i, tonumber(oldest[2] or now)}
+              end
+            end
+            for _, key in ipairs(KEYS) do
+              redis.call('ZADD', key, now, ARGV[3])
+              redis.call('PEXPIRE', key, window)
+            end
+            return {0, 0}
+            """, List.class);
+
+    // A reserved attempt. member is null when nothing was counted: throttling
+    // disabled, or Redis unreachable.
+    public record Attempt(String emailKey, String ipKey, String member) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final long windowMs;
+
+    // Key -> epoch millis until which attempts are rejected without Redis
+    private final Cache<String, Long> blockedUntil;
+
+    public LoginAttemptService(
+            StringRedisTemplate redisTemplate,
+            @Value("${auth.login-throttle.enabled:true}") boolean enabled,
+            @Value("${auth.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+            @Value("${auth.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+            @Value("${auth.login-throttle.window:15m}") Duration window) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowMs = window.toMillis();
+        this.blockedUntil = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // Throws TooManyRequestsException when either key is over its limit;
+    // otherwise the attempt is counted as a failure until refunded
+    public Attempt reserve(String email, String clientIp) {
+        String emailKey = EMAIL_PREFIX + normalize(email);
+        String ipKey = IP_PREFIX + clientIp;
+        if (!enabled) {
+            return new Attempt(emailKey, ipKey, null);
+        }
+
+        long now = System.currentTimeMillis();
+        rejectIfBlockedLocally(emailKey, now);
+        rejectIfBlockedLocally(ipKey, now);
+
+        String member = now + ":" + UUID.randomUUID();
+        final List<?> result;
+        try {
+            result = redisTemplate.execute(RESERVE_SCRIPT, List.of(emailKey, ipKey),
+                    String.valueOf(now), String.valueOf(windowMs), member,
+                    String.valueOf(maxFailuresPerEmail), String.valueOf(maxFailuresPerIp));
+        } catch (DataAccessException ex) {
+            // Fail open: an unreachable Redis must not lock everyone out
+            log.warn("Login throttle check failed: {}", ex.getMessage());
+            return new Attempt(emailKey, ipKey, null);
+        }
+        if (result == null || result.size() < 2) {
+            return new Attempt(emailKey, ipKey, null);
+        }
+
+        long blockedKey = toLong(result.get(0));
+        if (blockedKey == 1) {
+            throw block(emailKey, toLong(result.get(1)), now);
+        }
+        if (blockedKey == 2) {
+            throw block(ipKey, toLong(result.get(1)), now);
+        }
+        return new Attempt(emailKey, ipKey, member);
+    }
+
+    // A successful login clears the per-email window and refunds the attempt
+    // from the IP window
+    public void recordSuccess(Attempt attempt) {
+        if (!enabled) {
+            return;
+        }
+        blockedUntil.invalidate(attempt.emailKey());
+        try {
+            redisTemplate.delete(attempt.emailKey());
+            if (attempt.member() != null) {
+                redisTemplate.opsForZSet().remove(attempt.ipKey(), attempt.member());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Failed to reset login failures: {}", ex.getMessage());
+        }
+    }
+
+    // Refunds an attempt that ended without a password verdict, e.g. the
+    // hashing pool being full
+    public void release(Attempt attempt) {
+        if (!enabled || attempt.member() == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(attempt.emailKey(), attempt.member());
+            redisTemplate.opsForZSet().remove(attempt.ipKey(), attempt.member());
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release login attempt: {}", ex.getMessage());
+        }
+    }
+
+    private void rejectIfBlockedLocally(String key, long now) {
+        Long until = blockedUntil.getIfPresent(key);
+        if (until != null && until > now) {
+            throw tooManyAttempts(until - now);
+        }
+    }
+
+    private TooManyRequestsException block(String key, long oldest, long now) {
+        // Blocked until the oldest failure slides out of the window
+        long until = oldest + windowMs;
+        blockedUntil.put(key, until);
+        return tooManyAttempts(until - now);
+    }
+
+    private TooManyRequestsException tooManyAttempts(long retryAfterMs) {
+        return new TooManyRequestsException(
+                "Too many failed login attempts, please try again later",
+                Math.max(1, (retryAfterMs + 999) / 1000));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
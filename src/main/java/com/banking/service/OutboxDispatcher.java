@@ -0,0 +1,205 @@
+package com.banking.service;
+
+import com.banking.mail.EmailSender;
+import com.banking.model.OutboxMessage;
+import com.banking.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Delivers outbox rows. Every node runs this; rows are claimed in batches
+// with FOR UPDATE SKIP LOCKED, so nodes share the backlog without
+// coordination and adding nodes adds throughput. Delivery happens outside
+// any transaction. Failures are retried with exponential backoff and
+// jitter until max-attempts, after which the row is kept as failed.
+//
+// Polling runs on this class's own thread rather than the shared @Scheduled
+// pool, so a mail backlog or a hung SMTP server can't hold up replica lag
+// checks, key rotation or revocation refreshes. Each poll handles at most
+// max-batches-per-poll batches, and stops delivering a batch once its lease
+// runs out, since other nodes may have claimed those rows again by then.
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxRepository outboxRepository;
+    private final EmailSender emailSender;
+    private final EmailVerificationService emailVerificationService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long pollIntervalMs;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    private ScheduledExecutorService executor;
+
+    public OutboxDispatcher(
+            OutboxRepository outboxRepository,
+            EmailSender emailSender,
+            EmailVerificationService emailVerificationService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.dispatcher.enabled:true}") boolean enabled,
+            @Value("${outbox.dispatcher.batch-size:50}") int batchSize,
+            @Value("${outbox.dispatcher.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${outbox.dispatcher.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${outbox.dispatcher.lease:60s}") Duration lease,
+            @Value("${outbox.dispatcher.max-attempts:8}") int maxAttempts,
+            @Value("${outbox.dispatcher.initial-backoff:10s}") Duration initialBackoff,
+            @Value("${outbox.dispatcher.max-backoff:1h}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.emailSender = emailSender;
+        this.emailVerificationService = emailVerificationService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.pollIntervalMs = pollIntervalMs;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sent = outcome(meterRegistry, "sent");
+        this.retried = outcome(meterRegistry, "retried");
+        this.failed = outcome(meterRegistry, "failed");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // An exception escaping would cancel every later run
+    private void poll() {
+        try {
+            dispatch();
+        } catch (RuntimeException ex) {
+            log.error("Outbox poll failed", ex);
+        }
+    }
+
+    // Deliver due rows batch by batch, up to the per-poll cap; returns the
+    // number of rows delivered or given up on
+    public int dispatch() {
+        int handled = 0;
+        for (int round = 0; round < maxBatchesPerPoll; round++) {
+            List<OutboxMessage> batch;
+            try {
+                batch = outboxRepository.claimBatch(batchSize, lease.toSeconds());
+            } catch (DataAccessException ex) {
+                log.warn("Failed to claim outbox rows: {}", ex.getMessage());
+                return handled;
+            }
+            long leaseEnds = System.nanoTime() + lease.toNanos();
+            for (int i = 0; i < batch.size(); i++) {
+                if (System.nanoTime() > leaseEnds) {
+                    // The rest are due again and may be with another node
+                    log.warn("Outbox lease expired with {} rows undelivered", batch.size() - i);
+                    return handled;
+                }
+                deliver(batch.get(i));
+                handled++;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return handled;
+    }
+
+    private void deliver(OutboxMessage message) {
+        try {
+            if (!EmailVerificationService.OUTBOX_TYPE.equals(message.getType())) {
+                giveUp(message, "Unknown outbox type " + message.getType());
+                return;
+            }
+            emailVerificationService.render(objectMapper.readValue(
+                            message.getPayload(), EmailVerificationService.VerificationEmail.class))
+                    .ifPresent(emailSender::send);
+            outboxRepository.deleteSent(message.getId());
+            sent.increment();
+        } catch (JsonProcessingException ex) {
+            giveUp(message, "Malformed payload: " + ex.getOriginalMessage());
+        } catch (RuntimeException ex) {
+            retryLater(message, String.valueOf(ex.getMessage()));
+        }
+    }
+
+    // attempts was already incremented by the claim
+    private void retryLater(OutboxMessage message, String error) {
+        if (message.getAttempts() >= maxAttempts) {
+            giveUp(message, error);
+            return;
+        }
+        Duration delay = backoff(message.getAttempts());
+        log.debug("Outbox message {} failed, retrying in {}: {}", message.getId(), delay, error);
+        outboxRepository.reschedule(message.getId(), LocalDateTime.now().plus(delay), truncate(error));
+        retried.increment();
+    }
+
+    private void giveUp(OutboxMessage message, String error) {
+        log.error("Outbox message {} failed after {} attempts: {}",
+                message.getId(), message.getAttempts(), error);
+        outboxRepository.markFailed(message.getId(), truncate(error));
+        failed.increment();
+    }
+
+    // initial * 2^(attempt-1), capped, with up to half of it as random jitter
+    // so rows that failed together don't all come back at the same moment
+    private Duration backoff(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.deliveries")
+                .description("Outbox delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
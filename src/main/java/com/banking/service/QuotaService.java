@@ -0,0 +1,236 @@
+package com.banking.service;
+
+import com.banking.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-subject request quotas. Each subject has a token bucket in Redis,
+// sized by role, shared by every node. Nodes don't spend one token per
+// request: they lease a small batch with a single atomic script call and
+// hand the permits out locally, so most requests never touch Redis. Unused
+// permits lapse with the lease, so a lease is sized to what this node saw
+// of the subject over the last lease period: a caller spread thinly across
+// many nodes leases one token at a time and wastes none, while a busy
+// caller on one node ramps up to full leases.
+@Slf4j
+@Service
+public class QuotaService {
+
+    private static final String KEY_PREFIX = "quota:bucket:";
+
+    // Refill by elapsed time on the Redis clock, take up to ARGV[3] tokens.
+    // Returns {granted, tokens left, ms until the next token}.
+    private static final RedisScript<List> LEASE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            local wait = 0
+            if tokens < 1 then
+              wait = math.ceil((1 - tokens) / rate)
+            end
+            return {granted, math.floor(tokens), wait}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int leaseSize;
+    private final long leaseTtlMs;
+    private final Map<Role, Limit> limits = new EnumMap<>(Role.class);
+    private final Cache<String, Lease> leases;
+
+    private final Counter localGrants;
+    private final Counter leasedGrants;
+    private final Counter rejections;
+    private final Counter failOpen;
+
+    public QuotaService(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${quota.enabled:true}") boolean enabled,
+            @Value("${quota.customer.requests-per-second:20}") double customerRate,
+            @Value("${quota.customer.burst:40}") int customerBurst,
+            @Value("${quota.admin.requests-per-second:50}") double adminRate,
+            @Value("${quota.admin.burst:100}") int adminBurst,
+            @Value("${quota.lease.size:5}") int leaseSize,
+            @Value("${quota.lease.ttl:1s}") Duration leaseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.leaseSize = leaseSize;
+        this.leaseTtlMs = leaseTtl.toMillis();
+        this.limits.put(Role.CUSTOMER, new Limit(customerBurst, customerRate));
+        this.limits.put(Role.ADMIN, new Limit(adminBurst, adminRate));
+        this.leases = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .maximumSize(100_000)
+                .build();
+
+        this.localGrants = decisions(meterRegistry, "local");
+        this.leasedGrants = decisions(meterRegistry, "leased");
+        this.rejections = decisions(meterRegistry, "rejected");
+        this.failOpen = decisions(meterRegistry, "fail_open");
+    }
+
+    public Decision acquire(String subject, Role role) {
+        Limit limit = limits.get(role);
+        if (!enabled || limit == null) {
+            return Decision.unlimited();
+        }
+
+        Lease lease = leases.get(subject, key -> new Lease());
+        lease.lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            lease.countRequest(now, leaseTtlMs);
+            if (lease.permits > 0 && lease.expiresAt > now) {
+                lease.permits--;
+                localGrants.increment();
+                return lease.decision(limit, true);
+            }
+            if (lease.blockedUntil > now) {
+                rejections.increment();
+                return lease.decision(limit, false);
+            }
+            return lease(subject, limit, lease, now);
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    // One Redis round-trip for as many permits as this node is likely to use
+    // before the lease lapses, up to leaseSize; this request takes one
+    private Decision lease(String subject, Limit limit, Lease lease, long now) {
+        long requested = Math.min(Math.min(leaseSize, limit.capacity()),
+                Math.max(1, lease.recentRequests()));
+        final List<?> result;
+        try {
+            result = redisTemplate.execute(LEASE_SCRIPT, List.of(KEY_PREFIX + subject),
+                    String.valueOf(limit.capacity()),
+                    String.valueOf(limit.tokensPerMs()),
+                    String.valueOf(requested));
+        } catch (DataAccessException ex) {
+            // Fail open: an unreachable Redis must not take the API down
+            log.warn("Quota lease failed: {}", ex.getMessage());
+            failOpen.increment();
+            return Decision.unlimited();
+        }
+        if (result == null || result.size() < 3) {
+            failOpen.increment();
+            return Decision.unlimited();
+        }
+
+        long granted = toLong(result.get(0));
+        lease.bucketTokens = toLong(result.get(1));
+        long waitMs = toLong(result.get(2));
+        lease.resetAt = now + waitMs;
+
+        if (granted == 0) {
+            // Rejected locally until a token is due, without asking Redis again
+            lease.permits = 0;
+            lease.blockedUntil = now + Math.max(waitMs, 1);
+            rejections.increment();
+            return lease.decision(limit, false);
+        }
+
+        lease.permits = granted - 1;
+        lease.expiresAt = now + leaseTtlMs;
+        leasedGrants.increment();
+        return lease.decision(limit, true);
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("quota.decisions")
+                .description("Request quota decisions by how they were made")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    // Outcome plus what the RateLimit-* headers report
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds) {
+
+        static Decision unlimited() {
+            return new Decision(true, -1, -1, 0);
+        }
+
+        public boolean isLimited() {
+            return limit >= 0;
+        }
+    }
+
+    private record Limit(int capacity, double perSecond) {
+
+        double tokensPerMs() {
+            return perSecond / 1000.0;
+        }
+    }
+
+    // Permits this node holds for one subject. A ReentrantLock rather than
+    // synchronized, so a virtual thread waiting on Redis doesn't pin its carrier.
+    private static final class Lease {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long permits;
+        private long expiresAt;
+        private long blockedUntil;
+        private long bucketTokens;
+        private long resetAt;
+
+        // Requests for this subject on this node, per lease period
+        private long windowStart;
+        private long windowRequests;
+        private long previousWindowRequests;
+
+        private void countRequest(long now, long periodMs) {
+            if (now - windowStart >= periodMs) {
+                // A gap of more than a whole period means nothing came in it
+                previousWindowRequests = now - windowStart < 2 * periodMs ? windowRequests : 0;
+                windowStart = now;
+                windowRequests = 0;
+            }
+            windowRequests++;
+        }
+
+        // Expected demand over the next lease period
+        private long recentRequests() {
+            return Math.max(previousWindowRequests, windowRequests);
+        }
+
+        private Decision decision(Limit limit, boolean allowed) {
+            long now = System.currentTimeMillis();
+            long until = allowed ? resetAt : blockedUntil;
+            return new Decision(
+                    allowed,
+                    limit.capacity(),
+                    Math.max(0, bucketTokens + permits),
+                    Math.max(0, (until - now + 999) / 1000));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.banking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-your-writes on top of replica routing. For a short window after this
+// node writes a user, lookups of that user go to the primary. A lookup that
+// finds nothing on a replica is retried on the primary too, which covers a
+// user registered through another node moments ago. Without replicas this
+// is a pass-through.
+@Component
+public class ReadYourWritesWindow {
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+
+    // Read-write transaction, which the routing proxy keeps on the primary
+    private final TransactionTemplate primaryTransaction;
+
+    public ReadYourWritesWindow(
+            TransactionTemplate transactionTemplate,
+            @Value("${datasource.replica.enabled:false}") boolean enabled,
+            @Value("${datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.enabled = enabled;
+        this.primaryTransaction = transactionTemplate;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(String email) {
+        if (enabled) {
+            recentWrites.put(email, Boolean.TRUE);
+        }
+    }
+
+    public <T> Optional<T> find(String email, Supplier<Optional<T>> query) {
+        return read(email, query).value();
+    }
+
+    // Like find, but says whether the row may have come from a replica, so
+    // callers can keep possibly stale rows out of caches that outlive the
+    // replica's lag
+    public <T> Read<T> read(String email, Supplier<Optional<T>> query) {
+        if (!enabled) {
+            return new Read<>(query.get(), true);
+        }
+        if (recentWrites.getIfPresent(email) != null) {
+            return new Read<>(onPrimary(query), true);
+        }
+        Optional<T> result = query.get();
+        return result.isPresent()
+                ? new Read<>(result, false)
+                : new Read<>(onPrimary(query), true);
+    }
+
+    private <T> Optional<T> onPrimary(Supplier<Optional<T>> query) {
+        return primaryTransaction.execute(status -> query.get());
+    }
+
+    public record Read<T>(Optional<T> value, boolean fromPrimary) {
+
+        public <R> Read<R> map(Function<? super T, ? extends R> mapper) {
+            return new Read<>(value.map(mapper), fromPrimary);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.banking.service;
+
+import com.banking.exception.InvalidRefreshTokenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Opaque refresh tokens, rotated on every use. A login starts a family;
+// each refresh replaces the family's single valid token with a new one.
+// Presenting any older token of the family means it was copied, so the
+// whole family is revoked and the holder has to log in again.
+//
+// Redis holds only the SHA-256 of the current token, per family:
+//   tokens:refresh:family:<id>  hash {email, current, created}
+//   tokens:refresh:user:<email> set of family ids, for logout-all
+// Families expire after the idle timeout, and never outlive max-lifetime.
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String FAMILY_PREFIX = "tokens:refresh:family:";
+    private static final String USER_PREFIX = "tokens:refresh:user:";
+
+    // Creates the family and indexes it under the user in one step, so a
+    // failure part way can't leave a family without its TTL
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'email', ARGV[1], 'current', ARGV[2], 'created', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('SADD', KEYS[2], ARGV[5])
+            redis.call('PEXPIRE', KEYS[2], ARGV[6])
+            return 1
+            """, Long.class);
+
+    // Returns {status, email}: status is "rotated" or "reused"; nil when
+    // the family is unknown, expired or past its maximum lifetime
+    private static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local family = redis.call('HMGET', KEYS[1], 'current', 'email', 'created')
+            if not family[1] then
+              return nil
+            end
+            local now = tonumber(ARGV[3])
+            local maxLifetime = tonumber(ARGV[5])
+            local remaining = tonumber(family[3]) + maxLifetime - now
+            if family[1] ~= ARGV[1] then
+              redis.call('DEL', KEYS[1])
+              return {'reused', family[2]}
+            end
+            if remaining <= 0 then
+              redis.call('DEL', KEYS[1])
+              return nil
+            end
+            redis.call('HSET', KEYS[1], 'current', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], math.min(tonumber(ARGV[4]), remaining))
+            return {'rotated', family[2]}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration idleTimeout;
+    private final Duration maxLifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            StringRedisTemplate redisTemplate,
+            @Value("${jwt.refresh.idle-timeout:14d}") Duration idleTimeout,
+            @Value("${jwt.refresh.max-lifetime:30d}") Duration maxLifetime) {
+        this.redisTemplate = redisTemplate;
+        this.idleTimeout = idleTimeout;
+        this.maxLifetime = maxLifetime;
+    }
+
+    // Start a new family for the user and return its first token
+    public RefreshToken issue(String email) {
+        String familyId = randomString(16);
+        String token = familyId + "." + randomString(32);
+        String userKey = USER_PREFIX + normalize(email);
+
+        redisTemplate.execute(ISSUE_SCRIPT,
+                List.of(FAMILY_PREFIX + familyId, userKey),
+                email, digest(token),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(Math.min(idleTimeout.toMillis(), maxLifetime.toMillis())),
+                familyId,
+                String.valueOf(maxLifetime.toMillis()));
+
+        return new RefreshToken(token, familyId, email);
+    }
+
+    // Exchange a token for the next one in its family.
+    // Throws InvalidRefreshTokenException when it is unknown, expired or reused.
+    public RefreshToken rotate(String token) {
+        String familyId = familyOf(token);
+        String next = familyId + "." + randomString(32);
+
+        List<?> result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(FAMILY_PREFIX + familyId),
+                digest(token), digest(next),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(idleTimeout.toMillis()),
+                String.valueOf(maxLifetime.toMillis()));
+
+        if (result == null || result.size() < 2) {
+            throw new InvalidRefreshTokenException("Invalid or expired refresh token");
+        }
+        String email = String.valueOf(result.get(1));
+        if ("reused".equals(result.get(0))) {
+            log.warn("Refresh token reuse detected, revoked family {} of {}", familyId, email);
+            throw new InvalidRefreshTokenException("Invalid or expired refresh token");
+        }
+        return new RefreshToken(next, familyId, email);
+    }
+
+    // Revoke one family, e.g. the session a logout came from
+    public void revokeFamily(String familyId) {
+        if (familyId != null) {
+            redisTemplate.delete(FAMILY_PREFIX + familyId);
+        }
+    }
+
+    // Revoke every family of the user, on all devices
+    public void revokeAll(String email) {
+        String userKey = USER_PREFIX + normalize(email);
+        Set<String> familyIds = redisTemplate.opsForSet().members(userKey);
+        List<String> keys = new ArrayList<>();
+        keys.add(userKey);
+        if (familyIds != null) {
+            familyIds.forEach(id -> keys.add(FAMILY_PREFIX + id));
+        }
+        redisTemplate.delete(keys);
+    }
+
+    public Duration idleTimeout() {
+        return idleTimeout;
+    }
+
+    private static String familyOf(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            throw new InvalidRefreshTokenException("Invalid or expired refresh token");
+        }
+        return token.substring(0, separator);
+    }
+
+    private String randomString(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record RefreshToken(String token, String familyId, String email) {
+    }
+}
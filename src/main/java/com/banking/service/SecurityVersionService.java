@@ -0,0 +1,41 @@
+package com.banking.service;
+
+import com.banking.event.UserChangedEvent;
+import com.banking.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class SecurityVersionService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesWindow readYourWrites;
+
+    // Invalidate every token issued to the user so far. Returns the new version.
+    @Transactional
+    public long invalidate(String email) {
+
+        if (userRepository.incrementSecurityVersion(email) == 0) {
+            throw new UsernameNotFoundException(
+                    "User not found with email: " + email);
+        }
+
+        long version = userRepository.findSecurityVersionByEmail(email)
+                .orElseThrow();
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow();
+
+        // This node's next lookups must see the new version, not a replica's
+        readYourWrites.recordWrite(email);
+
+        // Bulk updates skip entity listeners, so announce the change here;
+        // caches and the version registry pick it up after commit
+        eventPublisher.publishEvent(new UserChangedEvent(userId, email, version));
+        return version;
+    }
+}
@@ -0,0 +1,364 @@
+package com.banking.service;
+
+import com.banking.dto.request.DepositRequest;
+import com.banking.dto.request.TransferRequest;
+import com.banking.dto.response.TransferResponse;
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.IdempotencyKeyReusedException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.InvalidRequestException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.LedgerEntry;
+import com.banking.model.LedgerTransaction;
+import com.banking.model.LedgerTransactionType;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.LedgerEntryRepository;
+import com.banking.repository.LedgerTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Posts balanced movements between two accounts: both balances change and
+// two journal entries (debit and credit) are appended in one transaction.
+//
+// Ordinary accounts are locked with SELECT ... FOR UPDATE in id order, so
+// concurrent transfers over the same accounts queue instead of deadlocking.
+// Hot accounts (the settlement account, or any flagged hot) would make that
+// queue the bottleneck, so postings touching one read without locks and let
+// @Version reject a concurrent writer; the posting is retried with jittered
+// backoff and falls back to the locked path after max-attempts.
+//
+// Both paths write the account rows first and the journal second, and both
+// write in id order (hibernate.order_updates), so whoever holds an account
+// row also owns the next account_version for it.
+//
+// Transfers require an Idempotency-Key, stored on the ledger transaction in
+// the posting transaction itself and unique per caller. A retry finds the
+// transaction already committed and gets the original result back, so no
+// cache outage, lost response or late retry can post a transfer twice.
+@Slf4j
+@Service
+public class TransferService {
+
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final AccountRepository accountRepository;
+    private final LedgerTransactionRepository transactionRepository;
+    private final LedgerEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOptimisticAttempts;
+    private final long backoffNanos;
+
+    private final Timer lockedTimer;
+    private final Timer optimisticTimer;
+    private final Counter conflicts;
+    private final Counter fallbacks;
+    private final Counter replays;
+
+    // Ids of hot accounts, reloaded periodically; the flag rarely changes
+    private volatile Set<Long> hotAccounts = Set.of();
+
+    // Currency -> settlement account id; settlement accounts never change
+    private final Map<String, Long> settlementAccounts = new ConcurrentHashMap<>();
+
+    public TransferService(
+            AccountRepository accountRepository,
+            LedgerTransactionRepository transactionRepository,
+            LedgerEntryRepository entryRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.optimistic.max-attempts:5}") int maxOptimisticAttempts,
+            @Value("${ledger.optimistic.backoff:2ms}") Duration backoff) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOptimisticAttempts = maxOptimisticAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.lockedTimer = postingTimer(meterRegistry, "locked");
+        this.optimisticTimer = postingTimer(meterRegistry, "optimistic");
+        this.conflicts = Counter.builder("ledger.optimistic.conflicts")
+                .description("Optimistic postings retried after a concurrent update")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("ledger.optimistic.fallbacks")
+                .description("Postings that ran out of optimistic attempts and took row locks")
+                .register(meterRegistry);
+        this.replays = Counter.builder("ledger.transfers.replayed")
+                .description("Transfers answered from an earlier request with the same Idempotency-Key")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        refreshHotAccounts();
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.hot-accounts.refresh-interval-ms:60000}",
+            initialDelayString = "${ledger.hot-accounts.refresh-interval-ms:60000}")
+    public void refreshHotAccounts() {
+        try {
+            hotAccounts = Set.copyOf(accountRepository.findHotAccountIds());
+        } catch (DataAccessException ex) {
+            log.warn("Failed to load hot accounts: {}", ex.getMessage());
+        }
+    }
+
+    // Customer transfer: the source account must belong to the caller
+    public Posted transfer(Long callerId, String idempotencyKey, TransferRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be 1 to "
+                    + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        Posting posting = new Posting(
+                LedgerTransactionType.TRANSFER,
+                request.getFromAccountId(),
+                request.getToAccountId(),
+                request.getAmount(),
+                request.getDescription(),
+                callerId,
+                idempotencyKey,
+                requestHash(request));
+        try {
+            return post(posting);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request with the same key committed first
+            return transactionTemplate.execute(status -> previous(posting))
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    // Credit an account from the settlement account of its currency
+    public TransferResponse deposit(Long accountId, DepositRequest request) {
+        // Read on the primary: the account may have been opened moments ago
+        Account account = transactionTemplate.execute(status -> accountRepository.findById(accountId))
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        Posting posting = new Posting(
+                LedgerTransactionType.DEPOSIT,
+                settlementAccountId(account.getCurrency()),
+                accountId,
+                request.getAmount(),
+                request.getDescription(),
+                null,
+                null,
+                null);
+        return post(posting).response();
+    }
+
+    private Posted post(Posting posting) {
+        if (posting.fromId().equals(posting.toId())) {
+            throw new InvalidRequestException("Source and destination accounts must differ");
+        }
+        List<Long> ids = posting.fromId() < posting.toId()
+                ? List.of(posting.fromId(), posting.toId())
+                : List.of(posting.toId(), posting.fromId());
+
+        if (hotAccounts.contains(posting.fromId()) || hotAccounts.contains(posting.toId())) {
+            for (int attempt = 1; attempt <= maxOptimisticAttempts; attempt++) {
+                try {
+                    return optimisticTimer.record(() -> transactionTemplate.execute(
+                            status -> apply(posting, accountRepository.findAllInIdOrder(ids))));
+                } catch (OptimisticLockingFailureException ex) {
+                    conflicts.increment();
+                    backoff(attempt);
+                }
+            }
+            fallbacks.increment();
+        }
+        return lockedTimer.record(() -> transactionTemplate.execute(
+                status -> apply(posting, accountRepository.findAllForUpdate(ids))));
+    }
+
+    // Runs inside the posting transaction, with accounts in id order
+    private Posted apply(Posting posting, List<Account> accounts) {
+        // Checked once the account rows are held: a duplicate queued behind
+        // the original on the row locks sees the committed transaction here
+        if (posting.idempotencyKey() != null) {
+            Optional<Posted> previous = previous(posting);
+            if (previous.isPresent()) {
+                return previous.get();
+            }
+        }
+
+        Map<Long, Account> byId = accounts.stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        Account from = byId.get(posting.fromId());
+        Account to = byId.get(posting.toId());
+
+        if (from == null || (posting.ownerId() != null && !posting.ownerId().equals(from.getUserId()))) {
+            throw new AccountNotFoundException(posting.fromId());
+        }
+        if (to == null) {
+            throw new AccountNotFoundException(posting.toId());
+        }
+        if (posting.type() == LedgerTransactionType.TRANSFER && to.isSettlement()) {
+            throw new InvalidRequestException("Cannot transfer to a system account");
+        }
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new InvalidRequestException("Accounts hold different currencies");
+        }
+
+        BigDecimal amount = posting.amount();
+        if (!from.isSettlement() && from.getBalance().compareTo(amount) < 0) {
+            throw new InsufficientFundsException(from.getId());
+        }
+
+        from.setBalance(from.getBalance().subtract(amount));
+        to.setBalance(to.getBalance().add(amount));
+
+        // Version-checked UPDATEs first; once they succeed this transaction
+        // holds both rows, and the versions read back are the ones to journal
+        accountRepository.flush();
+
+        LedgerTransaction transaction = transactionRepository.save(LedgerTransaction.builder()
+                .type(posting.type())
+                .description(posting.description())
+                .userId(posting.idempotencyKey() != null ? posting.ownerId() : null)
+                .idempotencyKey(posting.idempotencyKey())
+                .requestHash(posting.requestHash())
+                .build());
+        entryRepository.saveAll(accounts.stream()
+                .map(account -> LedgerEntry.builder()
+                        .transactionId(transaction.getId())
+                        .accountId(account.getId())
+                        .amount(account == from ? amount.negate() : amount)
+                        .balanceAfter(account.getBalance())
+                        .accountVersion(account.getVersion())
+                        .build())
+                .toList());
+
+        return new Posted(TransferResponse.builder()
+                .transactionId(transaction.getId())
+                .fromAccountId(from.getId())
+                .toAccountId(to.getId())
+                .amount(amount)
+                .currency(from.getCurrency())
+                .balanceAfter(posting.type() == LedgerTransactionType.DEPOSIT
+                        ? to.getBalance()
+                        : from.getBalance())
+                .build(), false);
+    }
+
+    // The caller's earlier transfer under the same key, rebuilt from the journal
+    private Optional<Posted> previous(Posting posting) {
+        return transactionRepository
+                .findByUserIdAndIdempotencyKey(posting.ownerId(), posting.idempotencyKey())
+                .map(transaction -> {
+                    if (!transaction.getRequestHash().equals(posting.requestHash())) {
+                        throw new IdempotencyKeyReusedException();
+                    }
+                    replays.increment();
+                    return new Posted(replay(transaction), true);
+                });
+    }
+
+    private TransferResponse replay(LedgerTransaction transaction) {
+        List<LedgerEntry> entries = entryRepository.findByTransactionId(transaction.getId());
+        LedgerEntry debit = entries.stream()
+                .filter(entry -> entry.getAmount().signum() < 0)
+                .findFirst()
+                .orElseThrow();
+        LedgerEntry credit = entries.stream()
+                .filter(entry -> entry != debit)
+                .findFirst()
+                .orElseThrow();
+        String currency = accountRepository.findById(debit.getAccountId())
+                .map(Account::getCurrency)
+                .orElseThrow(() -> new AccountNotFoundException(debit.getAccountId()));
+
+        return TransferResponse.builder()
+                .transactionId(transaction.getId())
+                .fromAccountId(debit.getAccountId())
+                .toAccountId(credit.getAccountId())
+                .amount(credit.getAmount())
+                .currency(currency)
+                .balanceAfter(debit.getBalanceAfter())
+                .build();
+    }
+
+    // Identifies the transfer a key was used for; amounts compare by value
+    static String requestHash(TransferRequest request) {
+        String canonical = request.getFromAccountId() + "\n"
+                + request.getToAccountId() + "\n"
+                + request.getAmount().stripTrailingZeros().toPlainString() + "\n"
+                + Objects.toString(request.getDescription(), "");
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private Long settlementAccountId(String currency) {
+        Long id = settlementAccounts.get(currency);
+        if (id == null) {
+            id = accountRepository.findByTypeAndCurrency(AccountType.SETTLEMENT, currency)
+                    .map(Account::getId)
+                    .orElseThrow(() -> new InvalidRequestException(
+                            "No settlement account for currency " + currency));
+            settlementAccounts.put(currency, id);
+        }
+        return id;
+    }
+
+    // Random sleep growing with the attempt, so retrying writers spread out
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(Duration.ofNanos(
+                    ThreadLocalRandom.current().nextLong(backoffNanos * attempt + 1)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transfer interrupted", ex);
+        }
+    }
+
+    private static Timer postingTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("ledger.postings")
+                .description("Time to post one transfer, by locking strategy")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+
+    private record Posting(
+            LedgerTransactionType type,
+            Long fromId,
+            Long toId,
+            BigDecimal amount,
+            String description,
+            Long ownerId,
+            String idempotencyKey,
+            String requestHash) {
+    }
+
+    // replayed is true when an earlier request with the same key posted it
+    public record Posted(TransferResponse response, boolean replayed) {
+    }
+}
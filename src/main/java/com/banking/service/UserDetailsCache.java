@@ -0,0 +1,177 @@
+package com.banking.service;
+
+import com.banking.model.Role;
+import com.banking.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Two-tier cache in front of the user lookup: a bounded in-process L1 with a
+// short TTL, backed by a shared Redis L2. Redis failures degrade to the
+// database rather than failing authentication. Entries are immutable and a
+// fresh principal is handed out per call, since ProviderManager erases the
+// credentials of the principal it authenticates.
+//
+// Neither tier holds the password hash: the cache serves token-authenticated
+// requests, which never check it, and the password login loads the user
+// from the database instead (UserDetailsServiceImpl.loadUserForLogin).
+//
+// L1 holds futures rather than values: a miss is loaded on the calling thread
+// outside any lock, never inside Caffeine's compute (a synchronized hash bin),
+// so blocking Redis/JDBC I/O can't pin a virtual thread's carrier.
+@Slf4j
+@Component
+@RegisterReflectionForBinding(UserDetailsCache.CachedUserDetails.class)
+public class UserDetailsCache {
+
+    private static final String KEY_PREFIX = "users:details:";
+
+    private final AsyncCache<String, CachedUserDetails> local;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    public UserDetailsCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${cache.user-details.local.ttl:60s}") Duration localTtl,
+            @Value("${cache.user-details.local.max-size:10000}") long localMaxSize,
+            @Value("${cache.user-details.redis.enabled:true}") boolean redisEnabled,
+            @Value("${cache.user-details.redis.ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaxSize)
+                .buildAsync();
+    }
+
+    // Concurrent misses for the same email on this node share one load
+    public UserPrincipal get(String email,
+                             Function<String, ReadYourWritesWindow.Read<UserPrincipal>> loader) {
+        CompletableFuture<CachedUserDetails> pending = new CompletableFuture<>();
+        CompletableFuture<CachedUserDetails> existing = local.asMap().putIfAbsent(email, pending);
+        if (existing != null) {
+            return await(existing).toPrincipal();
+        }
+
+        try {
+            CachedUserDetails loaded = loadShared(email, loader);
+            pending.complete(loaded);
+            return loaded.toPrincipal();
+        } catch (RuntimeException ex) {
+            // Failed loads are not cached; waiters see the same exception
+            local.asMap().remove(email, pending);
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public void evictLocal(String email) {
+        local.synchronous().invalidate(email);
+    }
+
+    private static CachedUserDetails await(CompletableFuture<CachedUserDetails> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void evictShared(String email) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + email);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to evict user details from Redis: {}", ex.getMessage());
+        }
+    }
+
+    // The loader must return a user or throw
+    private CachedUserDetails loadShared(
+            String email,
+            Function<String, ReadYourWritesWindow.Read<UserPrincipal>> loader) {
+        if (!redisEnabled) {
+            return CachedUserDetails.from(loader.apply(email).value().orElseThrow());
+        }
+
+        CachedUserDetails cached = readShared(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        ReadYourWritesWindow.Read<UserPrincipal> read = loader.apply(email);
+        cached = CachedUserDetails.from(read.value().orElseThrow());
+        // A replica row may predate a change whose eviction already ran, e.g.
+        // a security version bump; in Redis it would outlive the replica's
+        // lag on every node, so only primary rows are shared
+        if (read.fromPrimary()) {
+            writeShared(cached);
+        }
+        return cached;
+    }
+
+    private CachedUserDetails readShared(String email) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + email);
+            return json != null
+                    ? objectMapper.readValue(json, CachedUserDetails.class)
+                    : null;
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("Failed to read user details from Redis: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(CachedUserDetails details) {
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + details.email(),
+                    objectMapper.writeValueAsString(details),
+                    redisTtl);
+        } catch (DataAccessException | JsonProcessingException ex) {
+            log.warn("Failed to write user details to Redis: {}", ex.getMessage());
+        }
+    }
+
+    // Immutable cache entry, also the wire format for the Redis tier
+    record CachedUserDetails(
+            Long id,
+            String email,
+            Role role,
+            long securityVersion) {
+
+        static CachedUserDetails from(UserPrincipal principal) {
+            return new CachedUserDetails(
+                    principal.getId(),
+                    principal.getUsername(),
+                    principal.getRole(),
+                    principal.getSecurityVersion());
+        }
+
+        UserPrincipal toPrincipal() {
+            return new UserPrincipal(id, email, "", role, securityVersion);
+        }
+    }
+}
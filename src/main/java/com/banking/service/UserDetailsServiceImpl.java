@@ -1,36 +1,75 @@
 package com.banking.service;
 
+import com.banking.model.User;
 import com.banking.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.banking.security.LoginPrincipal;
+import com.banking.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ReadYourWritesWindow readYourWrites;
 
+    // Whole lookup (L1, L2, database) vs. the database round-trip alone
+    private final Timer lookupTimer;
+    private final Timer loadTimer;
 
-
+    public UserDetailsServiceImpl(
+            UserRepository userRepository,
+            UserDetailsCache userDetailsCache,
+            ReadYourWritesWindow readYourWrites,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.readYourWrites = readYourWrites;
+        this.lookupTimer = Timer.builder("auth.user.lookup")
+                .description("User lookup including the local and Redis caches")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("auth.user.load")
+                .description("User load from the database on a cache miss")
+                .register(meterRegistry);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        return userRepository.findByEmail(email)
-                .map(user -> new org.springframework.security.core.userdetails.User(
-                        user.getEmail(),
-                        user.getPassword(),
-                        List.of(new SimpleGrantedAuthority(
-                                "ROLE_" + user.getRole().name()))
-                ))
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "User not found with email: " + email));
+        return lookupTimer.record(
+                () -> userDetailsCache.get(email, this::loadFromDatabase));
+    }
+
+    // Password login only: always read from the database, so the hash never
+    // passes through the user details cache. The principal keeps the row for
+    // AuthService to issue tokens from.
+    public UserDetails loadUserForLogin(String email)
+            throws UsernameNotFoundException {
+
+        return loadUser(email).map(LoginPrincipal::new).value().orElseThrow();
+    }
+
+    private ReadYourWritesWindow.Read<UserPrincipal> loadFromDatabase(String email) {
+        return loadUser(email).map(UserPrincipal::from);
+    }
+
+    // Read-only query, so it is served by a replica when routing is enabled;
+    // the cache keeps replica rows out of its shared tier
+    private ReadYourWritesWindow.Read<User> loadUser(String email) {
+        return loadTimer.record(() -> {
+            ReadYourWritesWindow.Read<User> read = readYourWrites
+                    .read(email, () -> userRepository.findByEmail(email));
+            if (read.value().isEmpty()) {
+                throw new UsernameNotFoundException(
+                        "User not found with email: " + email);
+            }
+            return read;
+        });
     }
 }
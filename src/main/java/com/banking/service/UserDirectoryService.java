@@ -0,0 +1,95 @@
+package com.banking.service;
+
+import com.banking.dto.response.UserPageResponse;
+import com.banking.dto.response.UserResponse;
+import com.banking.exception.InvalidRequestException;
+import com.banking.model.Role;
+import com.banking.repository.UserRepository;
+import com.banking.repository.UserSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+// Admin user listing with keyset pagination. The cursor encodes the
+// (created_at, id) of the last row returned, so every page is an index
+// seek no matter how deep, unlike OFFSET which scans all skipped rows.
+@Service
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public UserPageResponse list(Role role, Boolean verified, String cursor, Integer limit) {
+
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+
+        // One extra row tells us whether another page exists
+        List<UserSummary> rows = userRepository.findPage(
+                role,
+                verified,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UserSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            UserSummary last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.createdAt(), last.id()).encode();
+        }
+
+        return UserPageResponse.builder()
+                .users(page.stream().map(UserDirectoryService::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static UserResponse toResponse(UserSummary user) {
+        return UserResponse.builder()
+                .id(user.id())
+                .email(user.email())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .phone(user.phone())
+                .role(user.role().name())
+                .isVerified(user.isVerified())
+                .createdAt(user.createdAt())
+                .build();
+    }
+
+    record Cursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor),
+                        StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException
+                     | DateTimeParseException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.banking.service;
+
+import com.banking.dto.request.ImportUserRow;
+import com.banking.dto.response.BulkImportResponse;
+import com.banking.exception.GlobalExceptionHandler;
+import com.banking.model.Role;
+import com.banking.model.User;
+import com.banking.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+// Streams NDJSON or CSV users into the database in chunks: one existence
+// query per chunk, passwords hashed in parallel, and a single batched insert
+// per chunk (pooled sequence ids + hibernate.jdbc.batch_size). Rows that
+// fail are reported individually and never abort the import.
+//
+// Memory is bounded by the chunk size, whatever the size of the upload:
+// duplicate emails are tracked per chunk only. A duplicate of a row from an
+// earlier chunk, already written, is caught by the existence query and
+// reported as already registered.
+@Service
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH =
+            Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    // Same BCrypt settings as SecurityConfig, but run on the import's own
+    // pool so a large import can't fill the interactive hashing queue
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final ForkJoinPool hashingPool;
+
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${bulk-import.chunk-size:1000}") int chunkSize,
+            @Value("${bulk-import.hashing-parallelism:0}") int hashingParallelism,
+            @Value("${bulk-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public BulkImportResponse importUsers(InputStream body, boolean csv) throws IOException {
+
+        ImportResult result = new ImportResult(maxReportedErrors);
+        Set<String> seenEmails = new HashSet<>(chunkSize);
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+
+            long lineNumber = 0;
+            String[] csvHeader = null;
+            if (csv) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return result.toResponse();
+                }
+                csvHeader = parseCsvLine(header);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.total++;
+
+                ImportUserRow row;
+                try {
+                    row = csv ? fromCsv(csvHeader, line) : objectMapper.readValue(line, ImportUserRow.class);
+                } catch (JsonProcessingException | IllegalArgumentException ex) {
+                    result.fail(lineNumber, null, "Malformed row");
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error != null) {
+                    result.fail(lineNumber, row.getEmail(), error);
+                    continue;
+                }
+                if (!seenEmails.add(row.getEmail())) {
+                    result.fail(lineNumber, row.getEmail(), "Duplicate email in import");
+                    continue;
+                }
+
+                chunk.add(new ParsedRow(lineNumber, row));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                    seenEmails.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+        return result.toResponse();
+    }
+
+    private void writeChunk(List<ParsedRow> chunk, ImportResult result) {
+
+        // One round-trip to find emails that are already registered
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(r -> r.row().getEmail()).toList()));
+
+        List<ParsedRow> fresh = new ArrayList<>(chunk.size());
+        for (ParsedRow parsed : chunk) {
+            if (existing.contains(parsed.row().getEmail())) {
+                result.fail(parsed.line(), parsed.row().getEmail(), "Email already registered");
+            } else {
+                fresh.add(parsed);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<User> users = hashInParallel(fresh);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+            result.imported += users.size();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent registration won one of the emails; redo the
+            // chunk row by row so only the conflicting rows are rejected
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+                    result.imported++;
+                } catch (DataIntegrityViolationException rowEx) {
+                    result.fail(fresh.get(i).line(), user.getEmail(), rowError(rowEx));
+                }
+            }
+        }
+    }
+
+    // Only a unique violation means the email was taken; anything else (NOT
+    // NULL, length, check constraints) is reported with the database's reason
+    private static String rowError(DataIntegrityViolationException ex) {
+        if (GlobalExceptionHandler.isUniqueViolation(ex)) {
+            return "Email already registered";
+        }
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        if (message == null || message.isBlank()) {
+            return "Rejected by the database";
+        }
+        // Drivers append detail lines that can echo the whole row
+        return message.lines().findFirst().orElse(message).trim();
+    }
+
+    private List<User> hashInParallel(List<ParsedRow> rows) {
+        try {
+            return hashingPool.submit(() -> rows.parallelStream()
+                            .map(parsed -> toUser(parsed.row()))
+                            .toList())
+                    .get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private User toUser(ImportUserRow row) {
+        String hash = row.getPasswordHash() != null
+                ? row.getPasswordHash()
+                : passwordEncoder.encode(row.getPassword());
+
+        return User.builder()
+                .email(row.getEmail())
+                .password(hash)
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .phone(row.getPhone())
+                .role(row.getRole() != null ? row.getRole() : Role.CUSTOMER)
+                .isVerified(false)
+                .build();
+    }
+
+    private String validate(ImportUserRow row) {
+        Set<ConstraintViolation<ImportUserRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (row.getPasswordHash() != null) {
+            return BCRYPT_HASH.matcher(row.getPasswordHash()).matches()
+                    ? null
+                    : "Password hash must be BCrypt";
+        }
+        return row.getPassword() == null ? "Password is required" : null;
+    }
+
+    private ImportUserRow fromCsv(String[] header, String line) {
+        String[] values = parseCsvLine(line);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            fields.put(header[i].trim(), values[i].isEmpty() ? null : values[i]);
+        }
+
+        ImportUserRow row = new ImportUserRow();
+        row.setEmail(fields.get("email"));
+        row.setPassword(fields.get("password"));
+        row.setPasswordHash(fields.get("passwordHash"));
+        row.setFirstName(fields.get("firstName"));
+        row.setLastName(fields.get("lastName"));
+        row.setPhone(fields.get("phone"));
+        String role = fields.get("role");
+        row.setRole(role != null ? Role.valueOf(role.trim().toUpperCase(Locale.ROOT)) : null);
+        return row;
+    }
+
+    // RFC 4180 fields: comma separated, optional double quotes, "" escapes
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private record ParsedRow(long line, ImportUserRow row) {
+    }
+
+    private static final class ImportResult {
+
+        private final int maxReportedErrors;
+        private final List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private ImportResult(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BulkImportResponse.RowError.builder()
+                        .line(line)
+                        .email(email)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private BulkImportResponse toResponse() {
+            return BulkImportResponse.builder()
+                    .total(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
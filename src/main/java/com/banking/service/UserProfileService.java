@@ -0,0 +1,101 @@
+package com.banking.service;
+
+import com.banking.dto.response.UserResponse;
+import com.banking.model.User;
+import com.banking.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The current user's profile for GET /users/me, with a strong ETag built
+// from the id and updated_at. The ETag of each recently seen user is kept
+// per node, so a conditional poll that still matches is answered from the
+// principal and this map alone: no row load, no serialization. Entries are
+// dropped by UserChangeBroadcaster when the user changes on any node, and
+// expire after the TTL in case a broadcast was missed.
+@Service
+public class UserProfileService {
+
+    private final UserRepository userRepository;
+    private final ReadYourWritesWindow readYourWrites;
+    private final Cache<String, String> eTags;
+
+    // Bumped on every eviction. A load that overlaps one doesn't cache its
+    // ETag, since it may have read the row from before the change.
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserProfileService(
+            UserRepository userRepository,
+            ReadYourWritesWindow readYourWrites,
+            @Value("${cache.user-profile.etag.ttl:5m}") Duration ttl,
+            @Value("${cache.user-profile.etag.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.eTags = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // On a miss the user is loaded to compute it; a following load() for the
+    // body is then usually a second-level cache hit
+    public String currentETag(String email) {
+        String eTag = eTags.getIfPresent(email);
+        return eTag != null ? eTag : eTag(loadUser(email));
+    }
+
+    public UserResponse load(String email) {
+        return toResponse(loadUser(email));
+    }
+
+    private User loadUser(String email) {
+        long seen = evictions.get();
+        ReadYourWritesWindow.Read<User> read =
+                readYourWrites.read(email, () -> userRepository.findByEmail(email));
+        User user = read.value()
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with email: " + email));
+        // A replica row can predate a change whose eviction already ran, and
+        // the cached ETag would answer 304 with it until the TTL
+        if (read.fromPrimary() && evictions.get() == seen) {
+            eTags.put(email, eTag(user));
+        }
+        return user;
+    }
+
+    public void evict(String email) {
+        evictions.incrementAndGet();
+        eTags.invalidate(email);
+    }
+
+    // Quoted, as the header carries it. updated_at is stored to the
+    // microsecond, so an entity fresh from a flush and the same row read
+    // back on another node produce the same tag.
+    static String eTag(User user) {
+        LocalDateTime updatedAt = user.getUpdatedAt().truncatedTo(ChronoUnit.MICROS);
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                + updatedAt.getNano() / 1_000;
+        return "\"" + user.getId() + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    private static UserResponse toResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .phone(user.getPhone())
+                .role(user.getRole().name())
+                .isVerified(user.getIsVerified())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,478 @@
+package com.banking.web;
+
+import com.banking.exception.ApiErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key for the POST endpoints under /api/v1/auth. Transfers are
+// not handled here: their keys are stored durably with the ledger
+// transaction (see TransferService), since a Redis entry that can be lost,
+// released or expire is not enough to stop money moving twice. The first
+// request with a key runs normally and its response is stored in Redis;
+// repeats with the same key and body get that response back
+// (Idempotent-Replayed: true) without touching BCrypt or the database.
+//
+// Duplicates arriving while the first is still running wait for it: on
+// the same node on an in-process future, on other nodes by polling the
+// Redis entry. Reusing a key with a different body is rejected with 422.
+// Keys are scoped to the caller (when authenticated) and the path.
+//
+// Stored login, register and refresh responses hold access and refresh
+// tokens, so bodies go to Redis encrypted with AES-GCM. The key is derived
+// from the caller's raw Idempotency-Key, which is never stored (the Redis
+// key is a different hash of it), keyed with idempotency.encryption-secret
+// when one is configured. Reading Redis alone doesn't yield the tokens.
+@Slf4j
+@Component
+@RegisterReflectionForBinding(IdempotencyFilter.StoredResponse.class)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final List<String> PATH_PREFIXES = List.of("/api/v1/auth/");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+    private final Duration waitTimeout;
+    private final byte[] encryptionSecret;
+
+    // Requests this node is executing, by Redis key
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter replays;
+
+    public IdempotencyFilter(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.enabled:true}") boolean enabled,
+            @Value("${idempotency.ttl:1h}") Duration ttl,
+            @Value("${idempotency.in-flight-ttl:30s}") Duration inFlightTtl,
+            @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${idempotency.encryption-secret:}") String encryptionSecret) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.inFlightTtl = inFlightTtl;
+        this.waitTimeout = waitTimeout;
+        this.encryptionSecret = encryptionSecret.isBlank()
+                ? null
+                : encryptionSecret.getBytes(StandardCharsets.UTF_8);
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Requests answered from a stored response")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || PATH_PREFIXES.stream().noneMatch(request.getRequestURI()::startsWith)
+                || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // The body is held in memory for the fingerprint. Content-Length alone
+        // can't bound it (chunked requests have none), so read one byte past
+        // the cap and refuse anything that gets there.
+        byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                ? null
+                : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body == null || body.length > MAX_BODY_BYTES) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with " + HEADER + " are limited to " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+        String scope = scope(request);
+        String key = KEY_PREFIX + sha256(scope + "\n" + idempotencyKey);
+        String fingerprint = sha256(body);
+        SecretKey bodyKey = bodyKey(scope, idempotencyKey);
+
+        // Same node: wait on the request already running
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            StoredResponse stored = await(running);
+            respondWithStored(response, stored, fingerprint);
+            return;
+        }
+
+        try {
+            StoredResponse stored = claim(key, fingerprint, bodyKey);
+            if (stored != null) {
+                respondWithStored(response, stored, fingerprint);
+                pending.complete(stored);
+                return;
+            }
+
+            StoredResponse result = execute(replayable, response, filterChain, key, fingerprint,
+                    bodyKey);
+            pending.complete(result);
+        } catch (RuntimeException | IOException | ServletException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    // Take the key in Redis, or return the response another request left
+    // there. Null means this request should run. Redis errors fail open.
+    private StoredResponse claim(String key, String fingerprint, SecretKey bodyKey) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        try {
+            String marker = objectMapper.writeValueAsString(StoredResponse.inFlight(fingerprint));
+            while (true) {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(key, marker, inFlightTtl))) {
+                    return null;
+                }
+                String json = redisTemplate.opsForValue().get(key);
+                if (json != null) {
+                    StoredResponse stored = objectMapper.readValue(json, StoredResponse.class);
+                    if (!stored.fingerprint().equals(fingerprint)) {
+                        return stored;
+                    }
+                    if (stored.isComplete()) {
+                        return stored.body() != null
+                                ? stored.withBody(decrypt(bodyKey, stored.body()))
+                                : stored;
+                    }
+                }
+                // Running on another node; poll until it finishes
+                if (System.nanoTime() > deadline) {
+                    return StoredResponse.inFlight(fingerprint);
+                }
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (DataAccessException | JsonProcessingException | GeneralSecurityException ex) {
+            log.warn("Idempotency lookup failed, running request: {}", ex.getMessage());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return StoredResponse.inFlight(fingerprint);
+        }
+    }
+
+    private StoredResponse execute(HttpServletRequest request, HttpServletResponse response,
+                                   FilterChain filterChain, String key, String fingerprint,
+                                   SecretKey bodyKey)
+            throws ServletException, IOException {
+
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, recorder);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            release(key);
+            throw ex;
+        }
+
+        StoredResponse result = new StoredResponse(
+                fingerprint,
+                recorder.getStatus(),
+                recorder.getContentType(),
+                new String(recorder.getContentAsByteArray(), StandardCharsets.UTF_8));
+        recorder.copyBodyToResponse();
+
+        // Throttling and server errors are transient; let a retry run again
+        if (result.status() == HttpStatus.TOO_MANY_REQUESTS.value() || result.status() >= 500) {
+            release(key);
+        } else {
+            store(key, result, bodyKey);
+        }
+        return result;
+    }
+
+    private void store(String key, StoredResponse result, SecretKey bodyKey) {
+        try {
+            StoredResponse encrypted = result.withBody(encrypt(bodyKey, result.body()));
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(encrypted), ttl);
+        } catch (DataAccessException | JsonProcessingException | GeneralSecurityException ex) {
+            log.warn("Failed to store idempotent response: {}", ex.getMessage());
+        }
+    }
+
+    private void release(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release idempotency key: {}", ex.getMessage());
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    private void respondWithStored(HttpServletResponse response, StoredResponse stored,
+                                   String fingerprint) throws IOException {
+        if (stored != null && !stored.fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body");
+            return;
+        }
+        if (stored == null || !stored.isComplete()) {
+            // Failed or still running: the client should retry shortly
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still in progress");
+            return;
+        }
+
+        replays.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            byte[] bytes = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Keys from different callers or endpoints never collide
+    private static String scope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null && authentication.isAuthenticated()
+                ? authentication.getName()
+                : "anonymous";
+        return caller + "\n" + request.getRequestURI();
+    }
+
+    // Different input from the Redis key's hash, so that hash gives nothing
+    // away about this key
+    SecretKey bodyKey(String scope, String idempotencyKey) {
+        byte[] material = ("body\n" + scope + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] key;
+            if (encryptionSecret != null) {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(encryptionSecret, "HmacSHA256"));
+                key = mac.doFinal(material);
+            } else {
+                key = MessageDigest.getInstance("SHA-256").digest(material);
+            }
+            return new SecretKeySpec(key, "AES");
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot derive idempotency body key", ex);
+        }
+    }
+
+    // Base64 of IV followed by ciphertext and tag
+    static String encrypt(SecretKey key, String plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(
+                ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+    }
+
+    static String decrypt(SecretKey key, String encrypted) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(encrypted);
+        if (data.length < GCM_IV_BYTES) {
+            throw new AEADBadTagException("Stored body too short");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key,
+                new GCMParameterSpec(GCM_TAG_BITS, data, 0, GCM_IV_BYTES));
+        byte[] plaintext = cipher.doFinal(data, GCM_IV_BYTES, data.length - GCM_IV_BYTES);
+        return new String(plaintext, StandardCharsets.UTF_8);
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // Stored in Redis; status is null while the first request is running
+    record StoredResponse(String fingerprint, Integer status, String contentType, String body) {
+
+        static StoredResponse inFlight(String fingerprint) {
+            return new StoredResponse(fingerprint, null, null, null);
+        }
+
+        StoredResponse withBody(String body) {
+            return new StoredResponse(fingerprint, status, contentType, body);
+        }
+
+        boolean isComplete() {
+            return status != null;
+        }
+    }
+
+    // The body is read once for the fingerprint and replayed to the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at
+                // once and the listener hears about the end straight after
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- V2__add_user_security_version.sql
+ALTER TABLE users
+    ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- V3__pooled_user_id_sequence.sql
+-- Hibernate's pooled optimizer reserves 50 ids per nextval() so inserts can
+-- be batched; the increment here must match the entity's allocationSize.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- V4__user_directory_indexes.sql
+-- Keyset pagination for the admin user directory: newest first on
+-- (created_at, id), optionally filtered by role or verification status.
+-- Built CONCURRENTLY so a large users table stays writable; Flyway runs
+-- this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at_id
+    ON users (created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_created_at_id
+    ON users (role, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_verified_created_at_id
+    ON users (is_verified, created_at DESC, id DESC);
@@ -0,0 +1,27 @@
+-- V5__outbox_and_email_verification.sql
+-- Transactional outbox: rows are written in the same transaction as the
+-- change that causes them and delivered later by OutboxDispatcher. Sent
+-- rows are deleted; rows out of attempts keep failed_at and last_error.
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    last_error VARCHAR(500),
+    failed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Dispatcher claims due rows in next_attempt_at order
+CREATE INDEX idx_outbox_due ON outbox (next_attempt_at) WHERE failed_at IS NULL;
+
+-- Only the SHA-256 of each emailed token is stored
+CREATE TABLE email_verification_tokens (
+    token_hash VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_email_verification_tokens_user ON email_verification_tokens (user_id);
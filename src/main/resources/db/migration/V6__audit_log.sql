@@ -0,0 +1,14 @@
+-- V6__audit_log.sql
+-- Append-only security audit trail, written in batches by AuditLogWriter.
+-- BRIN suits a table that is only ever appended to in time order.
+CREATE TABLE audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP NOT NULL,
+    type VARCHAR(40) NOT NULL,
+    subject VARCHAR(100),
+    client_ip VARCHAR(45),
+    detail VARCHAR(500)
+);
+
+CREATE INDEX idx_audit_log_occurred_at ON audit_log USING BRIN (occurred_at);
+CREATE INDEX idx_audit_log_subject ON audit_log (subject, occurred_at) WHERE subject IS NOT NULL;
@@ -0,0 +1,80 @@
+-- V7__accounts_and_ledger.sql
+-- Accounts hold the current balance; every change to it is an append-only
+-- double-entry journal: one ledger_transactions row per movement and one
+-- ledger_entries row per account touched, with the entries summing to zero.
+CREATE TABLE accounts (
+    id BIGSERIAL PRIMARY KEY,
+    -- NULL for system accounts
+    user_id BIGINT REFERENCES users(id) ON DELETE RESTRICT,
+    type VARCHAR(20) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    balance NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    -- Hot accounts are updated with optimistic version checks instead of row locks
+    hot BOOLEAN NOT NULL DEFAULT FALSE,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT chk_accounts_no_overdraft CHECK (type = 'SETTLEMENT' OR balance >= 0)
+);
+
+CREATE INDEX idx_accounts_user ON accounts (user_id);
+
+-- One settlement account per currency: the other side of every deposit
+CREATE UNIQUE INDEX idx_accounts_settlement ON accounts (currency) WHERE type = 'SETTLEMENT';
+
+INSERT INTO accounts (user_id, type, currency, balance, hot)
+VALUES (NULL, 'SETTLEMENT', 'GBP', 0, TRUE);
+
+CREATE TABLE ledger_transactions (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    description VARCHAR(140),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- account_version is the account's version after this entry was applied,
+-- so an account's entries are numbered 1..version with no gaps and two
+-- writers can never both apply a change on top of the same version
+CREATE TABLE ledger_entries (
+    id BIGSERIAL PRIMARY KEY,
+    transaction_id BIGINT NOT NULL REFERENCES ledger_transactions(id),
+    account_id BIGINT NOT NULL REFERENCES accounts(id),
+    amount NUMERIC(19, 2) NOT NULL,
+    balance_after NUMERIC(19, 2) NOT NULL,
+    account_version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_ledger_entries_account_version UNIQUE (account_id, account_version)
+);
+
+CREATE INDEX idx_ledger_entries_transaction ON ledger_entries (transaction_id);
+
+-- Pooled ids so each transfer's inserts are batched (see V3)
+ALTER SEQUENCE ledger_transactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ledger_entries_id_seq INCREMENT BY 50;
+
+-- Balance snapshots written by BalanceCheckpointService. journal_balance is
+-- the previous checkpoint plus the entries since, so a row where it differs
+-- from balance means the account and its journal have drifted apart.
+CREATE TABLE balance_checkpoints (
+    account_id BIGINT NOT NULL REFERENCES accounts(id),
+    account_version BIGINT NOT NULL,
+    balance NUMERIC(19, 2) NOT NULL,
+    journal_balance NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (account_id, account_version)
+);
+
+-- The journal is append-only
+CREATE FUNCTION ledger_reject_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION '% is append-only', TG_TABLE_NAME;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER ledger_transactions_append_only
+    BEFORE UPDATE OR DELETE ON ledger_transactions
+    FOR EACH ROW EXECUTE FUNCTION ledger_reject_change();
+
+CREATE TRIGGER ledger_entries_append_only
+    BEFORE UPDATE OR DELETE ON ledger_entries
+    FOR EACH ROW EXECUTE FUNCTION ledger_reject_change();
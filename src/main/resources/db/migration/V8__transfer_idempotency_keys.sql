@@ -0,0 +1,11 @@
+-- V8__transfer_idempotency_keys.sql
+-- Transfers carry the caller's Idempotency-Key, written in the same
+-- transaction as the postings, so a retried request finds the transaction
+-- it already created instead of moving the money again. request_hash
+-- detects a key reused for a different transfer. Deposits leave all three
+-- NULL, which the unique constraint ignores.
+ALTER TABLE ledger_transactions
+    ADD COLUMN user_id BIGINT REFERENCES users(id),
+    ADD COLUMN idempotency_key VARCHAR(255),
+    ADD COLUMN request_hash VARCHAR(64),
+    ADD CONSTRAINT uq_ledger_transactions_idempotency UNIQUE (user_id, idempotency_key);
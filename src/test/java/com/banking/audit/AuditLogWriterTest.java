@@ -0,0 +1,127 @@
+package com.banking.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogWriterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLog auditLog;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        // Same column widths as V6__audit_log.sql
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_log (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    occurred_at TIMESTAMP NOT NULL,
+                    type VARCHAR(40) NOT NULL,
+                    subject VARCHAR(100),
+                    client_ip VARCHAR(45),
+                    detail VARCHAR(500)
+                )""");
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuditLog(meterRegistry, true, 1024);
+        writer = new AuditLogWriter(auditLog, jdbcTemplate, meterRegistry,
+                true, 500, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        database.shutdown();
+    }
+
+    @Test
+    void stop_ShouldWriteEveryBufferedEvent() {
+
+        // Arrange
+        for (int i = 0; i < 1200; i++) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, "user" + i + "@example.com");
+        }
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(1200, count());
+        assertEquals(1200.0, outcome("written"));
+        assertEquals(0.0, outcome("failed"));
+    }
+
+    @Test
+    void write_WithOversizedValues_ShouldKeepTheBatch() {
+
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("f".repeat(60));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        String longEmail = "a".repeat(300) + "@example.com";
+
+        auditLog.record(AuditEventType.LOGIN_FAILED, "before@example.com");
+        auditLog.record(AuditEventType.LOGIN_FAILED, longEmail, "x".repeat(600));
+        auditLog.record(AuditEventType.LOGIN_FAILED, "after@example.com");
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(3, count());
+        assertEquals(0.0, outcome("failed"));
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT subject, client_ip, detail FROM audit_log WHERE subject LIKE 'aaa%'");
+        assertEquals(longEmail.substring(0, AuditLog.MAX_SUBJECT_LENGTH), row.get("SUBJECT"));
+        assertEquals(AuditLog.MAX_CLIENT_IP_LENGTH, ((String) row.get("CLIENT_IP")).length());
+        assertEquals(AuditLog.MAX_DETAIL_LENGTH, ((String) row.get("DETAIL")).length());
+    }
+
+    @Test
+    void write_WhenDatabaseFails_ShouldCountTheBatchAsFailed() {
+
+        // Arrange
+        jdbcTemplate.execute("DROP TABLE audit_log");
+        auditLog.record(AuditEventType.LOGIN_FAILED, "john@example.com");
+        auditLog.record(AuditEventType.LOGIN_SUCCEEDED, "john@example.com");
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(2.0, outcome("failed"));
+        assertEquals(0, auditLog.drainTo(new ArrayList<>(), 10));
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log", Integer.class);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("audit.events").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void offer_WhenFull_ShouldRejectUntilDrained() {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // Act
+        boolean overflow = buffer.offer(4);
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, 10);
+
+        // Assert
+        assertFalse(overflow);
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offer(5));
+    }
+
+    @Test
+    void drainTo_WithConcurrentProducers_ShouldDeliverEveryAcceptedElement() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    // Spin on full: the test checks delivery, not dropping
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        start.countDown();
+        boolean[] seen = new boolean[producers * perProducer];
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < seen.length && System.nanoTime() < deadline) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (int value : batch) {
+                assertFalse(seen[value], "Duplicate element " + value);
+                seen[value] = true;
+            }
+            received += batch.size();
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(seen.length, received);
+    }
+}
@@ -0,0 +1,57 @@
+package com.banking.config;
+
+import com.banking.dto.response.AuthResponse;
+import com.banking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldCoverJjwtImplementationClassesPresentOnClasspath() throws Exception {
+
+        // Act & Assert
+        for (String type : NativeRuntimeHints.JJWT_IMPLEMENTATION) {
+            // A renamed class in a JJWT upgrade would silently break the native image
+            Class.forName(type, false, getClass().getClassLoader());
+            assertTrue(RuntimeHintsPredicates.reflection()
+                    .onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                    .test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldCoverBuildersAndEntities() {
+
+        // Act & Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(AuthResponse.AuthResponseBuilder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(User.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(AuthResponse.class)
+                .test(hints));
+    }
+}
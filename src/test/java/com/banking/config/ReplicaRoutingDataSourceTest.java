@@ -0,0 +1,133 @@
+package com.banking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void determineCurrentLookupKey_BeforeFirstLagCheck_ShouldUsePrimary() throws Exception {
+
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(replica("replica-0", 0.0));
+
+        // Act & Assert
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get("db.replica.fallback").counter().count());
+    }
+
+    @Test
+    void determineCurrentLookupKey_ShouldRoundRobinOverHealthyReplicas() throws Exception {
+
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(
+                replica("replica-0", 0.2), replica("replica-1", 0.0));
+        routing.checkLag();
+
+        // Act
+        Object first = routing.determineCurrentLookupKey();
+        Object second = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertNotEquals(first, second);
+        assertTrue(List.of("replica-0", "replica-1").containsAll(List.of(first, second)));
+        assertEquals(0.2, meterRegistry.get("db.replica.lag").tag("replica", "replica-0")
+                .gauge().value());
+    }
+
+    @Test
+    void checkLag_WhenReplicaLagsTooFar_ShouldRouteAroundIt() throws Exception {
+
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(
+                replica("replica-0", 5.0), replica("replica-1", 0.1));
+
+        // Act
+        routing.checkLag();
+
+        // Assert
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", routing.determineCurrentLookupKey());
+        }
+    }
+
+    @Test
+    void checkLag_WhenWalReceiverIsDown_ShouldTakeReplicaOut() throws Exception {
+
+        // Arrange: the lag query yields NULL without a streaming receiver
+        ReplicaRoutingDataSource routing = routing(replica("replica-0", null));
+
+        // Act
+        routing.checkLag();
+
+        // Assert
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag")
+                .tag("replica", "replica-0").gauge().value()));
+    }
+
+    @Test
+    void checkLag_WhenReplicaUnreachable_ShouldTakeItOutUntilItRecovers() throws Exception {
+
+        // Arrange
+        HikariDataSource replica = replica("replica-0", 0.0);
+        Connection connection = replica.getConnection();
+        when(replica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(connection);
+        ReplicaRoutingDataSource routing = routing(replica);
+
+        // Act
+        routing.checkLag();
+        Object whileDown = routing.determineCurrentLookupKey();
+        routing.checkLag();
+        Object afterRecovery = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals("primary", whileDown);
+        assertEquals("replica-0", afterRecovery);
+    }
+
+    private ReplicaRoutingDataSource routing(HikariDataSource... replicas) {
+        return new ReplicaRoutingDataSource(mock(DataSource.class), List.of(replicas),
+                Duration.ofSeconds(1), meterRegistry);
+    }
+
+    // A pool whose lag query returns the given seconds; null stands for SQL NULL
+    private static HikariDataSource replica(String name, Double lagSeconds) throws SQLException {
+        ResultSet result = mock(ResultSet.class);
+        when(result.next()).thenReturn(true);
+        when(result.getDouble(1)).thenReturn(lagSeconds != null ? lagSeconds : 0.0);
+        when(result.wasNull()).thenReturn(lagSeconds == null);
+
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(result);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        when(pool.getConnection()).thenReturn(connection);
+        return pool;
+    }
+}
@@ -1,7 +1,13 @@
 package com.banking.controller;
 
+import com.banking.dto.request.LoginRequest;
+import com.banking.dto.request.RefreshTokenRequest;
 import com.banking.dto.request.RegisterRequest;
 import com.banking.dto.response.AuthResponse;
+import com.banking.exception.EmailAlreadyExistsException;
+import com.banking.exception.InvalidRefreshTokenException;
+import com.banking.exception.ServiceOverloadedException;
+import com.banking.exception.TooManyRequestsException;
 import com.banking.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -13,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -62,6 +69,27 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.role").value("CUSTOMER"));
     }
 
+    @Test
+    void register_WithExistingEmail_ShouldReturn409() throws Exception {
+        // Arrange
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+        request.setFirstName("John");
+        request.setLastName("Doe");
+
+        when(authService.register(any(RegisterRequest.class)))
+                .thenThrow(new EmailAlreadyExistsException("Email already registered"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Email already registered"));
+    }
+
     @Test
     void register_WithInvalidEmail_ShouldReturn400() throws Exception {
 
@@ -115,4 +143,86 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.validationErrors.firstName")
                         .value("First name is required"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_WithValidRequest_ShouldReturn200AndToken() throws Exception {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        AuthResponse mockResponse = AuthResponse.builder()
+                .token("mock-jwt-token")
+                .email("john@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .role("CUSTOMER")
+                .build();
+
+        when(authService.login(any(LoginRequest.class), anyString()))
+                .thenReturn(mockResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("mock-jwt-token"))
+                .andExpect(jsonPath("$.email").value("john@example.com"));
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldReturn429WithRetryAfter() throws Exception {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        when(authService.login(any(LoginRequest.class), anyString()))
+                .thenThrow(new TooManyRequestsException("Too many failed login attempts", 42));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void login_WhenHashingPoolIsFull_ShouldReturn503WithRetryAfter() throws Exception {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        when(authService.login(any(LoginRequest.class), anyString()))
+                .thenThrow(new ServiceOverloadedException("Authentication is busy, please retry shortly", 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void refresh_WithReusedToken_ShouldReturn401() throws Exception {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("fam.old");
+
+        when(authService.refresh(any(RefreshTokenRequest.class)))
+                .thenThrow(new InvalidRefreshTokenException("Invalid or expired refresh token"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token"));
+    }
+}
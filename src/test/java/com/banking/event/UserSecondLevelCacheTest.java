@@ -0,0 +1,142 @@
+package com.banking.event;
+
+import com.banking.model.User;
+import com.banking.repository.UserNaturalIdRepositoryImpl;
+import com.banking.repository.UserRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserChangeBroadcaster userChangeBroadcaster;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache cache;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictAll();
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void regions_ShouldBeCreatedWithSizeAndExpiry() {
+
+        // Act & Assert
+        for (String region : new String[] {User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION}) {
+            javax.cache.Cache<Object, Object> jcache = hibernateCacheManager.getCache(region);
+            assertNotNull(jcache, region);
+            CaffeineConfiguration<?, ?> configuration =
+                    jcache.getConfiguration(CaffeineConfiguration.class);
+            assertTrue(configuration.getMaximumSize().isPresent(), region);
+            assertTrue(configuration.getExpireAfterWrite().isPresent(), region);
+        }
+    }
+
+    @Test
+    void findByEmail_OnPrimary_ShouldCacheTheUser() {
+
+        // Arrange
+        User user = saveUser();
+        cache.evictAll();
+
+        // Act
+        readWrite.executeWithoutResult(status -> userRepository.findByEmail(user.getEmail()));
+
+        // Assert
+        assertTrue(cache.containsEntity(User.class, user.getId()));
+    }
+
+    @Test
+    void findByEmail_OnReplica_ShouldNotCacheTheUser() {
+
+        // Arrange
+        User user = saveUser();
+        cache.evictAll();
+        UserNaturalIdRepositoryImpl replicaRepository =
+                new UserNaturalIdRepositoryImpl(entityManager, true);
+
+        // Act
+        boolean found = readOnly.execute(status ->
+                replicaRepository.findByEmail(user.getEmail()).isPresent());
+
+        // Assert
+        assertTrue(found);
+        assertFalse(cache.containsEntity(User.class, user.getId()));
+    }
+
+    @Test
+    void evictSecondLevelCache_ShouldDropOnlyTheChangedUser() {
+
+        // Arrange
+        User changed = saveUser();
+        User other = saveUser();
+        cache.evictAll();
+        readWrite.executeWithoutResult(status -> {
+            userRepository.findByEmail(changed.getEmail());
+            userRepository.findByEmail(other.getEmail());
+        });
+        assertEquals(2, entries(User.NATURAL_ID_CACHE_REGION));
+
+        // Act
+        userChangeBroadcaster.evictSecondLevelCache(
+                new UserChangedEvent(changed.getId(), changed.getEmail(), null));
+
+        // Assert
+        assertFalse(cache.containsEntity(User.class, changed.getId()));
+        assertTrue(cache.containsEntity(User.class, other.getId()));
+        assertEquals(1, entries(User.NATURAL_ID_CACHE_REGION));
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("hash")
+                .firstName("John")
+                .lastName("Doe")
+                .build());
+    }
+
+    private int entries(String region) {
+        javax.cache.Cache<Object, Object> jcache = hibernateCacheManager.getCache(region);
+        int count = 0;
+        for (javax.cache.Cache.Entry<Object, Object> ignored : jcache) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,96 @@
+package com.banking.exception;
+
+import com.banking.audit.AuditLog;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalExceptionHandlerTest {
+
+    @Mock
+    private AuditLog auditLog;
+
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler(auditLog);
+    }
+
+    @Test
+    void handleDataIntegrityViolation_WithUniqueViolation_ShouldReturn409() {
+
+        // Arrange
+        DataIntegrityViolationException ex = violation("23505", "users_email_key");
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = handler.handleDataIntegrityViolation(ex);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Request conflicts with existing data", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_WithDuplicateKeyException_ShouldReturn409() {
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = handler.handleDataIntegrityViolation(
+                new DuplicateKeyException("duplicate key"));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_WithNotNullViolation_ShouldReturn500() {
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = handler.handleDataIntegrityViolation(
+                violation("23502", null));
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_WithForeignKeyViolation_ShouldReturn500() {
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = handler.handleDataIntegrityViolation(
+                violation("23503", "fk_accounts_user"));
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void handleDataIntegrityViolation_WithCheckViolation_ShouldReturn500() {
+
+        // Act
+        ResponseEntity<ApiErrorResponse> response = handler.handleDataIntegrityViolation(
+                violation("23514", "chk_balance"));
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    // Shaped like Spring's translation of a Hibernate constraint violation
+    private static DataIntegrityViolationException violation(String sqlState, String constraint) {
+        SQLException sql = new SQLException("constraint violated", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sql, constraint));
+    }
+}
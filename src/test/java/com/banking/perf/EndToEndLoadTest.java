@@ -0,0 +1,117 @@
+package com.banking.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Capacity regression test: the real application against Postgres and Redis,
+// driven by an open-loop mix of register, login and authenticated GETs.
+//
+//   ./mvnw -Pperf test -Dtest=EndToEndLoadTest \
+//       -Dperf.rate=300 -Dperf.mix=register:5,login:15,authenticated:80 \
+//       -Dperf.duration=60 -Dperf.threshold.authenticated.p99-ms=50
+//
+// Properties (defaults in brackets):
+//   perf.rate                          total requests per second [200]
+//   perf.mix                           operation:weight list [register:5,login:15,authenticated:80]
+//   perf.duration / perf.warmup        seconds [60 / 15]
+//   perf.max-in-flight                 requests beyond this count as errors [2000]
+//   perf.users                         pre-registered users for login/GET [200]
+//   perf.virtual-threads               run the app on virtual threads [false]
+//   perf.threshold.<op>.p99-ms         fail above this p99 [see THRESHOLDS]
+//   perf.threshold.<op>.p999-ms        fail above this p99.9
+//   perf.threshold.error-rate          fail above this error ratio per op [0.01]
+//
+// Results are printed and written to target/perf/load-test.csv.
+@Tag("perf")
+@Testcontainers(disabledWithoutDocker = true)
+class EndToEndLoadTest {
+
+    // Default p99 / p99.9 limits in ms. Register and login are BCrypt-bound.
+    private static final Map<String, long[]> THRESHOLDS = Map.of(
+            "register", new long[]{1000, 2000},
+            "login", new long[]{1000, 2000},
+            "authenticated", new long[]{50, 200});
+
+    private final PerfEnvironment environment = new PerfEnvironment();
+
+    @Test
+    void mixedWorkloadMeetsThresholds() throws Exception {
+        int rate = Integer.getInteger("perf.rate", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("perf.duration", 60));
+        Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmup", 15));
+        int maxInFlight = Integer.getInteger("perf.max-in-flight", 2000);
+        int users = Integer.getInteger("perf.users", 200);
+        double maxErrorRate = Double.parseDouble(
+                System.getProperty("perf.threshold.error-rate", "0.01"));
+
+        Map<String, LoadGenerator.Result> results;
+        try (PerfEnvironment.RunningApp app = environment.start(Map.of(
+                "spring.threads.virtual.enabled",
+                System.getProperty("perf.virtual-threads", "false")))) {
+
+            String baseUrl = app.baseUrl();
+            List<String> tokens = environment.seedUsers(baseUrl, users);
+            String runId = UUID.randomUUID().toString().substring(0, 8);
+
+            List<LoadGenerator.Operation> mix = parseMix(
+                    System.getProperty("perf.mix", "register:5,login:15,authenticated:80"),
+                    Map.of(
+                            "register", (worker, sequence) -> environment.register(baseUrl,
+                                    "load-" + runId + "-" + sequence + "@example.com") == 201,
+                            "login", (worker, sequence) -> environment.login(baseUrl,
+                                    PerfEnvironment.seedEmail((int) (sequence % users))) != null,
+                            "authenticated", (worker, sequence) -> environment.authenticatedGet(
+                                    baseUrl, tokens.get((int) (sequence % tokens.size()))) == 200));
+
+            results = LoadGenerator.runAtRate(rate, maxInFlight, warmup, duration, mix);
+        }
+
+        results.values().forEach(System.out::println);
+        LoadGenerator.writeCsv(Path.of("target", "perf", "load-test.csv"),
+                new ArrayList<>(results.values()));
+
+        List<String> violations = new ArrayList<>();
+        results.forEach((operation, result) -> {
+            long[] defaults = THRESHOLDS.getOrDefault(operation, new long[]{1000, 2000});
+            long p99Limit = Long.getLong("perf.threshold." + operation + ".p99-ms", defaults[0]);
+            long p999Limit = Long.getLong("perf.threshold." + operation + ".p999-ms", defaults[1]);
+
+            if (result.p99Micros() > p99Limit * 1000) {
+                violations.add(operation + " p99 " + result.p99Micros() / 1000 + "ms > " + p99Limit + "ms");
+            }
+            if (result.p999Micros() > p999Limit * 1000) {
+                violations.add(operation + " p99.9 " + result.p999Micros() / 1000 + "ms > " + p999Limit + "ms");
+            }
+            if (result.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f > %.4f",
+                        operation, result.errorRate(), maxErrorRate));
+            }
+        });
+        assertTrue(violations.isEmpty(), String.join("; ", violations));
+    }
+
+    private static List<LoadGenerator.Operation> parseMix(
+            String mix, Map<String, LoadGenerator.Request> requests) {
+        List<LoadGenerator.Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            LoadGenerator.Request request = requests.get(parts[0]);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown operation in perf.mix: " + parts[0]);
+            }
+            operations.add(new LoadGenerator.Operation(
+                    parts[0], Integer.parseInt(parts[1]), request));
+        }
+        return operations;
+    }
+}
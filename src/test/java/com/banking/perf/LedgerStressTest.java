@@ -0,0 +1,200 @@
+package com.banking.perf;
+
+import com.banking.dto.request.DepositRequest;
+import com.banking.dto.request.OpenAccountRequest;
+import com.banking.dto.request.TransferRequest;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.model.AccountType;
+import com.banking.service.AccountService;
+import com.banking.service.BalanceCheckpointService;
+import com.banking.service.TransferService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Concurrency stress test for the ledger: many threads post random transfers
+// in both directions between a small set of accounts (so they constantly
+// collide), with deposits hammering the hot settlement account, then the
+// ledger invariants are checked against Postgres:
+//
+//   - money is conserved: all balances, settlement included, sum to zero
+//   - every ledger transaction has exactly two entries summing to zero
+//   - every account's balance equals the sum of its entries, and its
+//     entries are numbered 1..version with no gaps (no lost updates)
+//   - no customer account is negative and checkpoints agree with the journal
+//   - no posting failed with anything but insufficient funds (no deadlocks)
+//
+// Transfers call TransferService directly so the run measures the locking
+// scheme rather than HTTP and JWT overhead (EndToEndLoadTest covers those).
+//
+//   ./mvnw -Pperf test -Dtest=LedgerStressTest -Dperf.ledger.transfers=100000
+//
+// Properties (defaults in brackets):
+//   perf.ledger.accounts       customer accounts [40]
+//   perf.ledger.transfers      postings in total [50000]
+//   perf.ledger.concurrency    posting threads [64]
+//   perf.ledger.deposit-ratio  share of postings that are deposits [0.05]
+//   perf.ledger.min-tps        fail below this many postings per second [1000]
+@Tag("perf")
+@Testcontainers(disabledWithoutDocker = true)
+class LedgerStressTest {
+
+    private static final int ACCOUNTS_PER_USER = 4;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private final PerfEnvironment environment = new PerfEnvironment();
+
+    @Test
+    void concurrentTransfersPreserveLedgerInvariants() throws Exception {
+        int accountCount = Integer.getInteger("perf.ledger.accounts", 40);
+        int postings = Integer.getInteger("perf.ledger.transfers", 50_000);
+        int concurrency = Integer.getInteger("perf.ledger.concurrency", 64);
+        double depositRatio = Double.parseDouble(
+                System.getProperty("perf.ledger.deposit-ratio", "0.05"));
+        long minTps = Long.getLong("perf.ledger.min-tps", 1000);
+
+        try (PerfEnvironment.RunningApp app = environment.start(Map.of(
+                "ledger.checkpoint.enabled", "false",
+                "spring.datasource.hikari.maximum-pool-size", String.valueOf(concurrency)))) {
+
+            TransferService transferService = app.context().getBean(TransferService.class);
+            AccountService accountService = app.context().getBean(AccountService.class);
+            BalanceCheckpointService checkpointService =
+                    app.context().getBean(BalanceCheckpointService.class);
+            JdbcTemplate jdbcTemplate = app.context().getBean(JdbcTemplate.class);
+
+            List<long[]> accounts = openAccounts(app.baseUrl(), accountCount,
+                    accountService, transferService, jdbcTemplate);
+
+            AtomicLong completed = new AtomicLong();
+            AtomicLong insufficient = new AtomicLong();
+            Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+            ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+            long started = System.nanoTime();
+            for (int i = 0; i < postings; i++) {
+                pool.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int fromIndex = random.nextInt(accounts.size());
+                    long[] from = accounts.get(fromIndex);
+                    long[] to = accounts.get((fromIndex + 1 + random.nextInt(accounts.size() - 1))
+                            % accounts.size());
+                    try {
+                        if (random.nextDouble() < depositRatio) {
+                            transferService.deposit(to[0], deposit(randomAmount(random, 5000)));
+                        } else {
+                            transferService.transfer(from[1], UUID.randomUUID().toString(),
+                                    transfer(from[0], to[0], randomAmount(random, 2000)));
+                        }
+                        completed.incrementAndGet();
+                    } catch (InsufficientFundsException ex) {
+                        insufficient.incrementAndGet();
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES), "Postings did not finish");
+            double seconds = (System.nanoTime() - started) / 1e9;
+            double tps = postings / seconds;
+
+            System.out.printf("ledger: %d postings in %.1fs (%.0f/s): %d posted, "
+                            + "%d insufficient funds, %d failed%n",
+                    postings, seconds, tps, completed.get(), insufficient.get(), failures.size());
+
+            assertTrue(failures.isEmpty(), () -> failures.size() + " postings failed, first: "
+                    + failures.peek());
+
+            // Money is conserved across every account, settlement included
+            BigDecimal total = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(balance), 0) FROM accounts", BigDecimal.class);
+            assertEquals(0, total.signum(), "Balances sum to " + total);
+
+            List<Long> unbalanced = jdbcTemplate.queryForList(
+                    "SELECT transaction_id FROM ledger_entries GROUP BY transaction_id " +
+                            "HAVING SUM(amount) <> 0 OR COUNT(*) <> 2", Long.class);
+            assertTrue(unbalanced.isEmpty(), "Unbalanced transactions: " + unbalanced);
+
+            List<Long> drifted = jdbcTemplate.queryForList(
+                    "SELECT a.id FROM accounts a LEFT JOIN (" +
+                            "SELECT account_id, SUM(amount) AS total, COUNT(*) AS entries, " +
+                            "MAX(account_version) AS last_version " +
+                            "FROM ledger_entries GROUP BY account_id) e ON e.account_id = a.id " +
+                            "WHERE a.balance <> COALESCE(e.total, 0) " +
+                            "OR a.version <> COALESCE(e.entries, 0) " +
+                            "OR a.version <> COALESCE(e.last_version, 0)", Long.class);
+            assertTrue(drifted.isEmpty(), "Accounts out of step with their journal: " + drifted);
+
+            Integer negative = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM accounts WHERE type <> 'SETTLEMENT' AND balance < 0",
+                    Integer.class);
+            assertEquals(0, negative);
+
+            assertTrue(checkpointService.checkpoint().isEmpty(), "Checkpoints disagree with the journal");
+
+            assertTrue(tps >= minTps, String.format("%.0f postings/s < %d", tps, minTps));
+        }
+    }
+
+    // Returns {accountId, ownerId} pairs, each account funded with the opening balance
+    private List<long[]> openAccounts(String baseUrl, int accountCount,
+                                      AccountService accountService,
+                                      TransferService transferService,
+                                      JdbcTemplate jdbcTemplate) throws Exception {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        OpenAccountRequest open = new OpenAccountRequest();
+        open.setType(AccountType.CHECKING);
+
+        List<long[]> accounts = new ArrayList<>(accountCount);
+        for (int user = 0; accounts.size() < accountCount; user++) {
+            String email = "ledger-" + runId + "-" + user + "@example.com";
+            environment.register(baseUrl, email);
+            Long userId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM users WHERE email = ?", Long.class, email);
+
+            for (int i = 0; i < ACCOUNTS_PER_USER && accounts.size() < accountCount; i++) {
+                Long accountId = accountService.open(userId, open).getId();
+                transferService.deposit(accountId, deposit(OPENING_BALANCE));
+                accounts.add(new long[]{accountId, userId});
+            }
+        }
+        return accounts;
+    }
+
+    // Up to maxCents, at least one penny
+    private static BigDecimal randomAmount(ThreadLocalRandom random, int maxCents) {
+        return BigDecimal.valueOf(random.nextInt(1, maxCents + 1), 2);
+    }
+
+    private static DepositRequest deposit(BigDecimal amount) {
+        DepositRequest request = new DepositRequest();
+        request.setAmount(amount);
+        return request;
+    }
+
+    private static TransferRequest transfer(long from, long to, BigDecimal amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(amount);
+        return request;
+    }
+}
@@ -0,0 +1,281 @@
+package com.banking.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Load generator with two modes, both on virtual threads so the client never
+// becomes the bottleneck:
+//
+//   run        closed loop: N workers each send a request, wait for the
+//              response and immediately send the next
+//   runAtRate  open loop: requests start on a fixed schedule whether or not
+//              earlier ones finished, and latency is measured from the
+//              scheduled start, so a stalled server can't hide its queueing
+//              delay (coordinated omission)
+final class LoadGenerator {
+
+    @FunctionalInterface
+    interface Request {
+        // Returns true when the response counts as a success
+        boolean send(int worker, long sequence) throws Exception;
+    }
+
+    // One entry of a weighted request mix
+    record Operation(String name, int weight, Request request) {
+    }
+
+    private LoadGenerator() {
+    }
+
+    static Result run(String name, int concurrency, Duration warmup, Duration duration,
+                      Request request) throws Exception {
+        drive(concurrency, warmup, request);
+        return drive(concurrency, duration, request).named(name, concurrency);
+    }
+
+    // Per-operation results for a mix issued at a fixed total rate. Requests
+    // that would exceed maxInFlight are not sent or queued; they are counted
+    // as dropped, apart from the latency samples, so a saturated run shows up
+    // in the error rate without fake fast samples pulling the tail down.
+    static Map<String, Result> runAtRate(int ratePerSecond, int maxInFlight,
+                                         Duration warmup, Duration duration,
+                                         List<Operation> mix) throws Exception {
+        schedule(ratePerSecond, maxInFlight, warmup, mix);
+        return schedule(ratePerSecond, maxInFlight, duration, mix);
+    }
+
+    static void writeCsv(Path output, List<Result> results) throws IOException {
+        Files.createDirectories(output.getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add(Result.csvHeader());
+        results.forEach(result -> lines.add(result.toCsv()));
+        Files.write(output, lines);
+    }
+
+    private static Result drive(int concurrency, Duration duration, Request request)
+            throws Exception {
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Samples>> futures = new ArrayList<>(concurrency);
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                futures.add(workers.submit(() -> {
+                    Samples samples = new Samples();
+                    long sequence = 0;
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        boolean ok = send(request, worker, sequence++);
+                        samples.add(System.nanoTime() - start, ok);
+                    }
+                    return samples;
+                }));
+            }
+            Thread.sleep(duration.toMillis());
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Samples merged = new Samples();
+        for (Future<Samples> future : futures) {
+            merged.addAll(future.get());
+        }
+        return merged.toResult(Duration.ofNanos(elapsed));
+    }
+
+    private static Map<String, Result> schedule(int ratePerSecond, int maxInFlight,
+                                                Duration duration, List<Operation> mix) {
+
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        mix.forEach(operation -> samples.put(operation.name(), new Samples()));
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong sequence = new AtomicLong();
+        long intervalNanos = 1_000_000_000L / ratePerSecond;
+        long total = duration.toNanos() / intervalNanos;
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = started + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = pick(mix, totalWeight);
+                Samples target = samples.get(operation.name());
+                if (!inFlight.tryAcquire()) {
+                    target.drop();
+                    continue;
+                }
+                workers.submit(() -> {
+                    try {
+                        long seq = sequence.getAndIncrement();
+                        boolean ok = send(operation.request(), (int) (seq % maxInFlight), seq);
+                        target.record(System.nanoTime() - scheduled, ok);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        samples.forEach((name, collected) -> results.put(name,
+                collected.toResult(elapsed).named(name, maxInFlight)));
+        return results;
+    }
+
+    private static Operation pick(List<Operation> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : mix) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static boolean send(Request request, int worker, long sequence) {
+        try {
+            return request.send(worker, sequence);
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    record Result(
+            String name,
+            int concurrency,
+            long requests,
+            long errors,
+            long dropped,
+            Duration elapsed,
+            long p50Micros,
+            long p95Micros,
+            long p99Micros,
+            long p999Micros,
+            long maxMicros) {
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        // Dropped requests count as failures of the attempted total
+        double errorRate() {
+            long attempted = requests + dropped;
+            return attempted == 0 ? 0 : (double) (errors + dropped) / attempted;
+        }
+
+        Result named(String name, int concurrency) {
+            return new Result(name, concurrency, requests, errors, dropped, elapsed,
+                    p50Micros, p95Micros, p99Micros, p999Micros, maxMicros);
+        }
+
+        static String csvHeader() {
+            return "scenario,concurrency,requests,errors,dropped,throughput_rps," +
+                    "p50_us,p95_us,p99_us,p999_us,max_us";
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d",
+                    name, concurrency, requests, errors, dropped, throughput(),
+                    p50Micros, p95Micros, p99Micros, p999Micros, maxMicros);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s c=%-5d %9.1f req/s  p50=%6.2fms  p99=%7.2fms  " +
+                            "p999=%7.2fms  max=%7.2fms  errors=%d/%d  dropped=%d",
+                    name, concurrency, throughput(),
+                    p50Micros / 1000.0, p99Micros / 1000.0, p999Micros / 1000.0,
+                    maxMicros / 1000.0, errors, requests, dropped);
+        }
+    }
+
+    // Latencies in a growable primitive array. Closed-loop workers own their
+    // instance; open-loop requests share one per operation behind a lock.
+    private static final class Samples {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private long dropped;
+
+        void add(long latencyNanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void record(long latencyNanos, boolean ok) {
+            lock.lock();
+            try {
+                add(latencyNanos, ok);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void drop() {
+            lock.lock();
+            try {
+                dropped++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+            dropped += other.dropped;
+        }
+
+        Result toResult(Duration elapsed) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Result(null, 0, size, errors, dropped, elapsed,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    percentile(sorted, 1.0));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000;
+        }
+    }
+}
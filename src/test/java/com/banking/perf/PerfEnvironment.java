@@ -0,0 +1,172 @@
+package com.banking.perf;
+
+import com.banking.BankingCoreApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Shared bootstrap for the perf suites: one Postgres and one Redis per JVM,
+// and a helper to start the real application against them.
+//
+// By default both come from Testcontainers, using the same images as
+// docker-compose.yml; pull them once and the suites run offline. With
+// -Dperf.compose=true the app uses the docker-compose services on
+// localhost:5433 / localhost:6379 instead.
+final class PerfEnvironment {
+
+    static final String PASSWORD = "benchmark-password";
+
+    private static final boolean COMPOSE = Boolean.getBoolean("perf.compose");
+
+    private static PostgreSQLContainer<?> postgres;
+    private static GenericContainer<?> redis;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static synchronized void startContainers() {
+        if (COMPOSE || postgres != null) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>("postgres:15");
+        redis = new GenericContainer<>("redis:7").withExposedPorts(6379);
+        postgres.start();
+        redis.start();
+    }
+
+    // Starts the app on a random port; overrides win over the defaults below
+    RunningApp start(Map<String, String> overrides) {
+        startContainers();
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        if (COMPOSE) {
+            properties.put("spring.datasource.url", "jdbc:postgresql://localhost:5433/banking_db");
+            properties.put("spring.datasource.username", "admin");
+            properties.put("spring.datasource.password", "password");
+            properties.put("spring.data.redis.host", "localhost");
+            properties.put("spring.data.redis.port", "6379");
+        } else {
+            properties.put("spring.datasource.url", postgres.getJdbcUrl());
+            properties.put("spring.datasource.username", postgres.getUsername());
+            properties.put("spring.datasource.password", postgres.getPassword());
+            properties.put("spring.data.redis.host", redis.getHost());
+            properties.put("spring.data.redis.port", String.valueOf(redis.getMappedPort(6379)));
+        }
+        properties.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.flyway.enabled", "true");
+        properties.put("redis.pubsub.enabled", "true");
+        properties.put("jwt.signing.redis.enabled", "true");
+        properties.put("jwt.revocation.enabled", "true");
+        properties.put("auth.login-throttle.enabled", "false");
+        // Load tests measure capacity, not per-caller limits
+        properties.put("quota.enabled", "false");
+        properties.put("cache.user-details.redis.enabled", "true");
+        properties.put("logging.level.com.banking", "WARN");
+        properties.putAll(overrides);
+
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                BankingCoreApiApplication.class, ProbeController.class).run(args);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return new RunningApp(context, "http://localhost:" + port);
+    }
+
+    // Registers the users on first use and returns one access token per user
+    List<String> seedUsers(String baseUrl, int users) throws Exception {
+        List<String> tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            register(baseUrl, seedEmail(i));
+            tokens.add(login(baseUrl, seedEmail(i)));
+        }
+        return tokens;
+    }
+
+    static String seedEmail(int index) {
+        return "bench-" + index + "@example.com";
+    }
+
+    int register(String baseUrl, String email) throws Exception {
+        return post(baseUrl + "/api/v1/auth/register", Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Bench",
+                "lastName", "User")).statusCode();
+    }
+
+    // Returns the access token, or null when the login did not succeed
+    String login(String baseUrl, String email) throws Exception {
+        HttpResponse<String> response = post(baseUrl + "/api/v1/auth/login",
+                Map.of("email", email, "password", PASSWORD));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    int authenticatedGet(String baseUrl, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ProbeController.PATH))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(String url, Map<String, String> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    record RunningApp(ConfigurableApplicationContext context, String baseUrl)
+            implements AutoCloseable {
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+
+    // Minimal authenticated endpoint: exercises only the JWT filter and user
+    // lookup. @TestComponent keeps it out of the regular @SpringBootTest scans.
+    @TestComponent
+    @RestController
+    static class ProbeController {
+
+        static final String PATH = "/api/v1/bench/whoami";
+
+        @GetMapping(PATH)
+        String whoAmI(Principal principal) {
+            return principal.getName();
+        }
+    }
+}
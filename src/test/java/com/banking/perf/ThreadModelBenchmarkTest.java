@@ -0,0 +1,77 @@
+package com.banking.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Platform vs virtual threads on the same build, database and Redis.
+//
+//   ./mvnw -Pperf test -Dtest=ThreadModelBenchmarkTest \
+//       -Dperf.concurrency=50,200,800 -Dperf.duration=30 -Dperf.warmup=10
+//
+// Each thread model gets a fresh application instance. Scenarios:
+//   login          POST /api/v1/auth/login, bound by the BCrypt pool
+//   authenticated  GET with a bearer token; the user-details cache is
+//                  disabled so every request does the blocking JDBC lookup
+// Results are printed and written to target/perf/thread-model.csv.
+// The perf profile runs with -Djdk.tracePinnedThreads=short, so any carrier
+// pinning in the JDBC or Redis path shows up as a stack trace in the output.
+@Tag("perf")
+@Testcontainers(disabledWithoutDocker = true)
+class ThreadModelBenchmarkTest {
+
+    private final PerfEnvironment environment = new PerfEnvironment();
+
+    @Test
+    void compareThreadModels() throws Exception {
+        int[] concurrencyLevels = Arrays.stream(
+                        System.getProperty("perf.concurrency", "50,200,800").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("perf.duration", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmup", 10));
+        int users = Integer.getInteger("perf.users", 200);
+
+        List<LoadGenerator.Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            String mode = virtualThreads ? "virtual" : "platform";
+
+            try (PerfEnvironment.RunningApp app = environment.start(Map.of(
+                    "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                    "cache.user-details.redis.enabled", "false",
+                    "cache.user-details.local.max-size", "0"))) {
+                String baseUrl = app.baseUrl();
+                List<String> tokens = environment.seedUsers(baseUrl, users);
+
+                for (int concurrency : concurrencyLevels) {
+                    results.add(LoadGenerator.run(mode + "/authenticated", concurrency,
+                            warmup, duration, (worker, sequence) ->
+                                    environment.authenticatedGet(baseUrl,
+                                            tokens.get(worker % tokens.size())) == 200));
+                    results.add(LoadGenerator.run(mode + "/login", concurrency,
+                            warmup, duration, (worker, sequence) ->
+                                    environment.login(baseUrl,
+                                            PerfEnvironment.seedEmail(worker % users)) != null));
+                }
+            }
+        }
+
+        results.forEach(System.out::println);
+        LoadGenerator.writeCsv(Path.of("target", "perf", "thread-model.csv"), results);
+
+        for (LoadGenerator.Result result : results) {
+            if (result.name().endsWith("/authenticated")) {
+                assertTrue(result.errorRate() < 0.01, result.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.banking.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_WithInsertedValues_ShouldNeverReturnFalse() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.put(ids[i]);
+        }
+
+        // Act & Assert
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void mightContain_WithUnknownValues_ShouldStayNearFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert (1% target, generous bound to keep the test stable)
+        assertTrue(falsePositives < 3_000,
+                "Too many false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,229 @@
+package com.banking.security;
+
+import com.banking.audit.AuditEventType;
+import com.banking.audit.AuditLog;
+import com.banking.model.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private AuditLog auditLog;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SecurityVersionRegistry securityVersionRegistry;
+    private JwtAuthFilter jwtAuthFilter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        securityVersionRegistry = new SecurityVersionRegistry(3_600_000L);
+        jwtAuthFilter = new JwtAuthFilter(jwtTokenProvider, userDetailsService,
+                securityVersionRegistry, tokenRevocationService,
+                meterRegistry, auditLog);
+        jwtAuthFilter.init();
+        request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void init_ShouldRegisterOneCounterPerOutcome() {
+
+        // Act & Assert
+        for (JwtAuthFilter.Outcome outcome : JwtAuthFilter.Outcome.values()) {
+            assertEquals(0, outcome(outcome));
+        }
+    }
+
+    @Test
+    void doFilter_WithoutBearerHeader_ShouldCountMissingHeader() throws Exception {
+
+        // Arrange
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/v1/users/me");
+
+        // Act
+        jwtAuthFilter.doFilter(anonymous, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.MISSING_HEADER));
+        verifyNoInteractions(jwtTokenProvider, auditLog);
+    }
+
+    @Test
+    void doFilter_WithValidToken_ShouldAuthenticateAndCount() throws Exception {
+
+        // Arrange
+        VerifiedClaims claims = claims(1L);
+        when(jwtTokenProvider.parseToken(TOKEN)).thenReturn(claims);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1L));
+        when(jwtTokenProvider.isTokenValid(eq(claims), any())).thenReturn(true);
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.AUTHENTICATED));
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertSame(claims, request.getAttribute(VerifiedClaims.REQUEST_ATTRIBUTE));
+        verifyNoInteractions(auditLog);
+    }
+
+    @Test
+    void doFilter_WithExpiredToken_ShouldCountAndAuditExpired() throws Exception {
+
+        // Arrange
+        when(jwtTokenProvider.parseToken(TOKEN))
+                .thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.EXPIRED));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, null, "expired");
+    }
+
+    @Test
+    void doFilter_WithBadSignature_ShouldCountBadSignature() throws Exception {
+
+        // Arrange
+        when(jwtTokenProvider.parseToken(TOKEN))
+                .thenThrow(new SignatureException("bad signature"));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.BAD_SIGNATURE));
+        assertEquals(0, outcome(JwtAuthFilter.Outcome.MALFORMED));
+    }
+
+    @Test
+    void doFilter_WithRevokedToken_ShouldCountRevokedWithoutLoadingTheUser() throws Exception {
+
+        // Arrange
+        VerifiedClaims claims = claims(1L);
+        when(jwtTokenProvider.parseToken(TOKEN)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.REVOKED));
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, EMAIL, "revoked");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_WithUnknownUser_ShouldCountUnknownUser() throws Exception {
+
+        // Arrange
+        when(jwtTokenProvider.parseToken(TOKEN)).thenReturn(claims(1L));
+        when(userDetailsService.loadUserByUsername(EMAIL))
+                .thenThrow(new UsernameNotFoundException(EMAIL));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.UNKNOWN_USER));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_WithOutdatedSecurityVersion_ShouldCountStaleVersion() throws Exception {
+
+        // Arrange
+        when(jwtTokenProvider.parseToken(TOKEN)).thenReturn(claims(1L));
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(2L));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.STALE_VERSION));
+        assertEquals(0, outcome(JwtAuthFilter.Outcome.AUTHENTICATED));
+        verify(jwtTokenProvider, never()).isTokenValid(any(VerifiedClaims.class), any());
+    }
+
+    @Test
+    void doFilter_WhenLoadedUserPredatesTheInvalidation_ShouldRejectFromTheRegistry() throws Exception {
+
+        // Arrange: logout-all reached this node, but the lookup served the
+        // old version from a cache or a lagging replica
+        securityVersionRegistry.advance(EMAIL, 2L);
+        when(jwtTokenProvider.parseToken(TOKEN)).thenReturn(claims(1L));
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal(1L));
+
+        // Act
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, outcome(JwtAuthFilter.Outcome.STALE_VERSION));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static VerifiedClaims claims(long securityVersion) {
+        return VerifiedClaims.from(Jwts.claims()
+                .subject(EMAIL)
+                .id("token-id")
+                .add(VerifiedClaims.CLAIM_SECURITY_VERSION, securityVersion)
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .build());
+    }
+
+    private static UserPrincipal principal(long securityVersion) {
+        return new UserPrincipal(7L, EMAIL, "", Role.CUSTOMER, securityVersion);
+    }
+
+    private double outcome(JwtAuthFilter.Outcome outcome) {
+        return meterRegistry.get("auth.filter.outcome")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .counter().count();
+    }
+}
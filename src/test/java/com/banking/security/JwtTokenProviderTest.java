@@ -0,0 +1,217 @@
+package com.banking.security;
+
+import com.banking.model.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final UserDetails user = User.builder()
+            .username("john@example.com")
+            .password("hashed-password")
+            .roles("CUSTOMER")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = newProvider(86400000L);
+    }
+
+    @Test
+    void parseToken_WithValidToken_ShouldReturnVerifiedClaims() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(user);
+
+        // Act
+        VerifiedClaims claims = jwtTokenProvider.parseToken(token);
+
+        // Assert
+        assertEquals("john@example.com", claims.subject());
+        assertNotNull(claims.issuedAt());
+        assertNotNull(claims.expiresAt());
+        assertFalse(claims.isExpired());
+        assertTrue(jwtTokenProvider.isTokenValid(claims, user));
+    }
+
+    @Test
+    void parseToken_WithTamperedToken_ShouldThrow() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // Act & Assert
+        assertThrows(JwtException.class,
+                () -> jwtTokenProvider.parseToken(tampered));
+    }
+
+    @Test
+    void parseToken_WithExpiredToken_ShouldThrow() {
+        // Arrange
+        String token = newProvider(-1000L).generateToken(user);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class,
+                () -> jwtTokenProvider.parseToken(token));
+    }
+
+    @Test
+    void parseToken_WithRepeatedToken_ShouldServeCachedClaims() {
+        // Arrange
+        String token = jwtTokenProvider.generateToken(user);
+
+        // Act
+        VerifiedClaims first = jwtTokenProvider.parseToken(token);
+        VerifiedClaims second = jwtTokenProvider.parseToken(token);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void isTokenValid_WithDifferentUser_ShouldReturnFalse() {
+        // Arrange
+        UserDetails other = User.builder()
+                .username("jane@example.com")
+                .password("hashed-password")
+                .roles("CUSTOMER")
+                .build();
+        String token = jwtTokenProvider.generateToken(user);
+
+        // Act & Assert
+        assertFalse(jwtTokenProvider.isTokenValid(
+                jwtTokenProvider.parseToken(token), other));
+        assertEquals("john@example.com", jwtTokenProvider.extractUsername(token));
+    }
+
+    @Test
+    void generateToken_WithUserPrincipal_ShouldEmbedRoleAndSecurityVersion() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(
+                42L, "john@example.com", "hashed-password", Role.ADMIN, 3L);
+
+        // Act
+        VerifiedClaims claims = jwtTokenProvider.parseToken(
+                jwtTokenProvider.generateToken(principal));
+
+        // Assert
+        assertTrue(claims.isSelfContained());
+        assertEquals(42L, claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertEquals(3L, claims.securityVersion());
+
+        UserPrincipal rebuilt = UserPrincipal.fromClaims(claims);
+        assertEquals("john@example.com", rebuilt.getUsername());
+        assertEquals(Role.ADMIN, rebuilt.getRole());
+        assertTrue(rebuilt.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    void generateToken_WithEs256_ShouldSetKidAndVerifyAfterRotation() {
+        // Arrange
+        SigningKeyRing keyRing = newKeyRing(SigningKeyRing.ES256);
+        JwtTokenProvider provider = newProvider(keyRing, 86400000L);
+        String before = provider.generateToken(user);
+
+        // Act
+        keyRing.rotate();
+        String after = provider.generateToken(user);
+
+        // Assert
+        assertNotEquals(kid(before), kid(after));
+        assertEquals("john@example.com", provider.parseToken(before).subject());
+        assertEquals("john@example.com", provider.parseToken(after).subject());
+        assertEquals(2, keyRing.publicJwks().size());
+    }
+
+    @Test
+    void parseToken_WithEs256_ShouldRejectHmacTokens() {
+        // Arrange
+        String hmac = jwtTokenProvider.generateToken(user);
+        JwtTokenProvider provider = newProvider(
+                newKeyRing(SigningKeyRing.ES256), 86400000L);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> provider.parseToken(hmac));
+    }
+
+    @Test
+    void parseToken_WithHs256_ShouldRejectTokensCarryingAKid() {
+        // Arrange: shared keys are on but there is no Redis template, so a kid
+        // lookup would fail with something other than a JwtException
+        String es256 = newProvider(newKeyRing(SigningKeyRing.ES256), 86400000L)
+                .generateToken(user);
+        SigningKeyRing hmacRing = newKeyRing(SigningKeyRing.HS256);
+        ReflectionTestUtils.setField(hmacRing, "sharedKeysEnabled", true);
+        JwtTokenProvider provider = newProvider(hmacRing, 86400000L);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> provider.parseToken(es256));
+    }
+
+    @Test
+    void parseToken_WithEs256_ShouldAcceptHmacTokensOnlyInsideLegacyWindow() {
+        // Arrange
+        String hmac = jwtTokenProvider.generateToken(user);
+        JwtTokenProvider open = newProvider(newKeyRing(SigningKeyRing.ES256,
+                Instant.now().plusSeconds(600).toString()), 86400000L);
+        JwtTokenProvider closed = newProvider(newKeyRing(SigningKeyRing.ES256,
+                Instant.now().minusSeconds(1).toString()), 86400000L);
+
+        // Act & Assert
+        assertEquals("john@example.com", open.parseToken(hmac).subject());
+        assertThrows(JwtException.class, () -> closed.parseToken(hmac));
+    }
+
+    private JwtTokenProvider newProvider(long expiration) {
+        return newProvider(newKeyRing(SigningKeyRing.HS256), expiration);
+    }
+
+    private JwtTokenProvider newProvider(SigningKeyRing keyRing, long expiration) {
+        JwtTokenProvider provider = new JwtTokenProvider(
+                new VerifiedTokenCache(true, 1000, new SimpleMeterRegistry()),
+                keyRing,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "expiration", expiration);
+        provider.init();
+        return provider;
+    }
+
+    private SigningKeyRing newKeyRing(String algorithm) {
+        return newKeyRing(algorithm, "");
+    }
+
+    private SigningKeyRing newKeyRing(String algorithm, String legacyHmacUntil) {
+        SigningKeyRing keyRing = new SigningKeyRing(null, new ObjectMapper());
+        ReflectionTestUtils.setField(keyRing, "secretKey", SECRET);
+        ReflectionTestUtils.setField(keyRing, "expiration", 86400000L);
+        ReflectionTestUtils.setField(keyRing, "algorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "rotationInterval", 21600000L);
+        ReflectionTestUtils.setField(keyRing, "sharedKeysEnabled", false);
+        ReflectionTestUtils.setField(keyRing, "legacyHmacUntil", legacyHmacUntil);
+        keyRing.init();
+        return keyRing;
+    }
+
+    private String kid(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]));
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+}
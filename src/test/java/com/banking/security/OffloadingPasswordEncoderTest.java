@@ -0,0 +1,40 @@
+package com.banking.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadingPasswordEncoderTest {
+
+    private PasswordHashingExecutor hashingExecutor;
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = new PasswordHashingExecutor(1, 4, 5000, 2, new SimpleMeterRegistry());
+        // Lowest BCrypt strength keeps the test fast
+        passwordEncoder = new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(4), hashingExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTripThroughThePool() {
+
+        // Act
+        String hash = passwordEncoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordEncoder.matches("password123", hash));
+        assertFalse(passwordEncoder.matches("wrong-password", hash));
+    }
+}
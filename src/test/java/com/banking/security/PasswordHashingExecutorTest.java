@@ -0,0 +1,172 @@
+package com.banking.security;
+
+import com.banking.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor hashingExecutor;
+    private ExecutorService callers;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hashingExecutor != null) {
+            hashingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void encode_ShouldRunTheTaskAndReturnItsResult() {
+
+        // Arrange
+        hashingExecutor = executor(1, 1, 5000);
+
+        // Act
+        String hash = hashingExecutor.encode(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(hash.startsWith("password-hash-"), hash);
+    }
+
+    @Test
+    void encode_WhenTaskThrows_ShouldRethrowTheSameException() {
+
+        // Arrange
+        hashingExecutor = executor(1, 1, 5000);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hashingExecutor.encode(() -> {
+            throw new IllegalArgumentException("rawPassword cannot be null");
+        }));
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldFailFastWithRetryAfter() throws Exception {
+
+        // Arrange
+        hashingExecutor = executor(1, 1, 5000);
+        Future<String> running = callers.submit(() -> hashingExecutor.encode(this::blockWorker));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> hashingExecutor.encode(() -> "queued"));
+        awaitTrue(() -> queueDepth() == 1);
+
+        // Act
+        long start = System.nanoTime();
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> hashingExecutor.encode(() -> "rejected"));
+
+        // Assert
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1, rejected());
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_WhenQueuedPastTheTimeout_ShouldFailAndDropTheQueuedHash() throws Exception {
+
+        // Arrange
+        hashingExecutor = executor(1, 1, 100);
+        callers.submit(() -> hashingExecutor.encode(this::blockWorker));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> hashingExecutor.encode(() -> {
+                    ran.set(true);
+                    return "late";
+                }));
+
+        // Assert
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(0, queueDepth());
+        release.countDown();
+        assertEquals("next", hashingExecutor.encode(() -> "next"));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void encode_WhenRunningPastTheTimeout_ShouldFailButLeaveTheWorkerBusy() throws Exception {
+
+        // Arrange
+        hashingExecutor = executor(1, 1, 100);
+
+        // Act
+        assertThrows(ServiceOverloadedException.class,
+                () -> hashingExecutor.encode(this::blockWorker));
+
+        // Assert
+        // The hash can't be interrupted; it holds the worker until it ends
+        assertEquals(1, activeWorkers());
+        release.countDown();
+        awaitTrue(() -> activeWorkers() == 0);
+        assertEquals(1, rejected());
+    }
+
+    private PasswordHashingExecutor executor(int threads, int queueCapacity, long timeoutMs) {
+        return new PasswordHashingExecutor(threads, queueCapacity, timeoutMs, 2, meterRegistry);
+    }
+
+    // Stands in for a BCrypt hash: holds the worker and ignores interrupts
+    private String blockWorker() {
+        started.countDown();
+        while (true) {
+            try {
+                release.await();
+                return "done";
+            } catch (InterruptedException ignored) {
+                // BCrypt doesn't check the flag either
+            }
+        }
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("auth.password.hash.queue.depth").gauge().value();
+    }
+
+    private double activeWorkers() {
+        return meterRegistry.get("auth.password.hash.active").gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("auth.password.hash.rejected").counter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
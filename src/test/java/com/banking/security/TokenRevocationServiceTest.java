@@ -0,0 +1,260 @@
+package com.banking.security;
+
+import com.banking.exception.ServiceOverloadedException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationService = new TokenRevocationService(redisTemplate, listenerContainer, meterRegistry);
+        ReflectionTestUtils.setField(revocationService, "enabled", true);
+        ReflectionTestUtils.setField(revocationService, "channel", "tokens:revoked");
+        ReflectionTestUtils.setField(revocationService, "expectedRevocations", 1000L);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocationService, "retryIntervalMs", 1000L);
+    }
+
+    @Test
+    void init_ShouldLoadTheFilterSoLiveTokensSkipRedis() {
+
+        // Arrange
+        stubScan(List.of("tokens:revoked:revoked-jti"));
+
+        // Act
+        revocationService.init();
+        boolean revoked = revocationService.isRevoked(claims("live-jti"));
+
+        // Assert
+        assertFalse(revoked);
+        verify(redisTemplate, never()).hasKey(anyString());
+        assertEquals(0.0, unchecked());
+    }
+
+    @Test
+    void isRevoked_WhenInTheFilter_ShouldConfirmWithRedis() {
+
+        // Arrange
+        stubScan(List.of("tokens:revoked:revoked-jti"));
+        when(redisTemplate.hasKey("tokens:revoked:revoked-jti")).thenReturn(true);
+        revocationService.init();
+
+        // Act & Assert
+        assertTrue(revocationService.isRevoked(claims("revoked-jti")));
+    }
+
+    @Test
+    void isRevoked_WhenFilterCouldNotBeLoaded_ShouldAskRedis() {
+
+        // Arrange
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.hasKey("tokens:revoked:any-jti")).thenReturn(false);
+        revocationService.init();
+
+        // Act
+        boolean revoked = revocationService.isRevoked(claims("any-jti"));
+
+        // Assert
+        assertFalse(revoked);
+        assertEquals(0.0, unchecked());
+    }
+
+    @Test
+    void isRevoked_WhenFilterCouldNotBeLoadedAndRedisIsDown_ShouldFailClosed() {
+
+        // Arrange
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.hasKey(anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        revocationService.init();
+
+        // Act & Assert
+        assertTrue(revocationService.isRevoked(claims("any-jti")));
+    }
+
+    @Test
+    void isRevoked_WhenFailOpenIsEnabledAndFilterCouldNotBeLoaded_ShouldAcceptAndCount() {
+
+        // Arrange
+        ReflectionTestUtils.setField(revocationService, "failOpenUntilLoaded", true);
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        revocationService.init();
+
+        // Act
+        boolean revoked = revocationService.isRevoked(claims("any-jti"));
+
+        // Assert
+        assertFalse(revoked);
+        verify(redisTemplate, never()).hasKey(anyString());
+        assertEquals(1.0, unchecked());
+    }
+
+    @Test
+    void loadIfMissing_AfterFailedStartup_ShouldInstallTheFilter() {
+
+        // Arrange
+        Cursor<String> cursor = cursor(List.of("tokens:revoked:revoked-jti"));
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(cursor);
+        when(redisTemplate.hasKey("tokens:revoked:revoked-jti")).thenReturn(true);
+        revocationService.init();
+
+        // Act
+        revocationService.loadIfMissing();
+
+        // Assert
+        assertTrue(revocationService.isRevoked(claims("revoked-jti")));
+        assertEquals(0.0, unchecked());
+    }
+
+    @Test
+    void isRevoked_WhenPossibleHitAndRedisDown_ShouldFailClosed() {
+
+        // Arrange
+        stubScan(List.of("tokens:revoked:revoked-jti"));
+        when(redisTemplate.hasKey(anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        revocationService.init();
+
+        // Act & Assert
+        assertTrue(revocationService.isRevoked(claims("revoked-jti")));
+    }
+
+    @Test
+    void revoke_ShouldStoreUntilExpiryAndBroadcast() {
+
+        // Arrange
+        stubScan(List.of());
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.hasKey("tokens:revoked:new-jti")).thenReturn(true);
+        revocationService.init();
+
+        // Act
+        revocationService.revoke(claims("new-jti"));
+
+        // Assert
+        verify(values).set(eq("tokens:revoked:new-jti"), eq("1"), any(Duration.class));
+        verify(redisTemplate).convertAndSend("tokens:revoked", "new-jti");
+        assertTrue(revocationService.isRevoked(claims("new-jti")));
+    }
+
+    @Test
+    void revoke_WhenRedisIsDown_ShouldEnforceLocallyAndReturn503() {
+
+        // Arrange
+        stubScan(List.of());
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        revocationService.init();
+
+        // Act
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> revocationService.revoke(claims("new-jti")));
+
+        // Assert
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertTrue(revocationService.isRevoked(claims("new-jti")));
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void refresh_AfterFailedRevoke_ShouldWriteItToRedis() {
+
+        // Arrange
+        stubScan(List.of());
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doThrow(new RedisConnectionFailureException("down"))
+                .doNothing()
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        revocationService.init();
+        assertThrows(ServiceOverloadedException.class,
+                () -> revocationService.revoke(claims("new-jti")));
+        stubScan(List.of("tokens:revoked:new-jti"));
+        when(redisTemplate.hasKey("tokens:revoked:new-jti")).thenReturn(true);
+
+        // Act
+        revocationService.refresh();
+
+        // Assert
+        verify(values, times(2)).set(eq("tokens:revoked:new-jti"), eq("1"), any(Duration.class));
+        verify(redisTemplate).convertAndSend("tokens:revoked", "new-jti");
+        assertTrue(revocationService.isRevoked(claims("new-jti")));
+    }
+
+    private void stubScan(List<String> keys) {
+        Cursor<String> cursor = cursor(keys);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        doAnswer(invocation -> {
+            iterator.forEachRemaining(invocation.getArgument(0));
+            return null;
+        }).when(cursor).forEachRemaining(any());
+        return cursor;
+    }
+
+    private static VerifiedClaims claims(String tokenId) {
+        return VerifiedClaims.from(Jwts.claims()
+                .subject("john@example.com")
+                .id(tokenId)
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .build());
+    }
+
+    private double unchecked() {
+        return meterRegistry.get("auth.revocation.unchecked").counter().count();
+    }
+}
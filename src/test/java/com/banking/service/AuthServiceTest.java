@@ -1,11 +1,20 @@
 package com.banking.service;
 
+import com.banking.audit.AuditEventType;
+import com.banking.audit.AuditLog;
+import com.banking.dto.request.LoginRequest;
+import com.banking.dto.request.RefreshTokenRequest;
 import com.banking.dto.request.RegisterRequest;
 import com.banking.dto.response.AuthResponse;
+import com.banking.exception.EmailAlreadyExistsException;
+import com.banking.exception.InvalidRefreshTokenException;
+import com.banking.exception.ServiceOverloadedException;
+import com.banking.exception.TooManyRequestsException;
 import com.banking.model.Role;
 import com.banking.model.User;
 import com.banking.repository.UserRepository;
 import com.banking.security.JwtTokenProvider;
+import com.banking.security.LoginPrincipal;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -13,10 +22,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +54,24 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private ReadYourWritesWindow readYourWrites;
+
+    @Mock
+    private EmailVerificationService emailVerificationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private AuthService authService;
 
@@ -46,20 +84,15 @@ class AuthServiceTest {
         request.setFirstName("John");
         request.setLastName("Doe");
 
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(request.getPassword())).thenReturn("hashed-password");
-        when(jwtTokenProvider.generateToken(any())).thenReturn("mock-jwt-token");
-
-        User savedUser = User.builder()
-                .id(1L)
-                .email(request.getEmail())
-                .password("hashed-password")
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .role(Role.CUSTOMER)
-                .build();
-
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(refreshTokenService.issue("john@example.com")).thenReturn(
+                new RefreshTokenService.RefreshToken("fam.secret", "fam", "john@example.com"));
+        when(jwtTokenProvider.generateToken(any(), eq("fam"))).thenReturn("mock-jwt-token");
+        when(jwtTokenProvider.accessTokenLifetime()).thenReturn(Duration.ofMinutes(15));
+        inTransaction();
+        when(userRepository.nextUserId()).thenReturn(1L);
+        when(userRepository.insertIfAbsent(eq(1L), eq("john@example.com"), eq("hashed-password"),
+                eq("John"), eq("Doe"), isNull(), eq("CUSTOMER"))).thenReturn(Optional.of(1L));
 
         // Act
         AuthResponse response = authService.register(request);
@@ -67,16 +100,19 @@ class AuthServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("mock-jwt-token", response.getToken());
+        assertEquals("fam.secret", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
         assertEquals("john@example.com", response.getEmail());
         assertEquals("John", response.getFirstName());
         assertEquals("Doe", response.getLastName());
         assertEquals("CUSTOMER", response.getRole());
 
         // Verify interactions
-        verify(userRepository).existsByEmail("john@example.com");
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
-        verify(jwtTokenProvider).generateToken(any());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).save(any());
+        verify(jwtTokenProvider).generateToken(any(), eq("fam"));
+        verify(emailVerificationService).requestVerification(1L, "john@example.com", "John");
     }
 
     @Test
@@ -88,17 +124,21 @@ class AuthServiceTest {
         request.setFirstName("John");
         request.setLastName("Doe");
 
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(true);
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("hashed-password");
+        inTransaction();
+        when(userRepository.nextUserId()).thenReturn(51L);
+        when(userRepository.insertIfAbsent(eq(51L), eq("existing@example.com"), anyString(),
+                anyString(), anyString(), any(), anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException exception = assertThrows(
-                RuntimeException.class,
+        EmailAlreadyExistsException exception = assertThrows(
+                EmailAlreadyExistsException.class,
                 () -> authService.register(request)
         );
 
         assertEquals("Email already registered", exception.getMessage());
-        verify(userRepository).existsByEmail("existing@example.com");
-        verify(userRepository, never()).save(any());
+        verify(refreshTokenService, never()).issue(anyString());
+        verifyNoInteractions(emailVerificationService);
     }
 
     @Test
@@ -110,19 +150,201 @@ class AuthServiceTest {
         request.setFirstName("John");
         request.setLastName("Doe");
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("hashed-password");
-        when(jwtTokenProvider.generateToken(any())).thenReturn("token");
-        when(userRepository.save(any(User.class))).thenReturn(new User());
+        when(refreshTokenService.issue(anyString())).thenReturn(
+                new RefreshTokenService.RefreshToken("fam.secret", "fam", "john@example.com"));
+        when(jwtTokenProvider.generateToken(any(), anyString())).thenReturn("token");
+        when(jwtTokenProvider.accessTokenLifetime()).thenReturn(Duration.ofMinutes(15));
+        inTransaction();
+        when(userRepository.nextUserId()).thenReturn(1L);
+        when(userRepository.insertIfAbsent(anyLong(), anyString(), anyString(), anyString(),
+                anyString(), any(), anyString())).thenReturn(Optional.of(1L));
 
         // Act
         authService.register(request);
 
         // Assert
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        ArgumentCaptor<String> passwordCaptor = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).insertIfAbsent(anyLong(), anyString(), passwordCaptor.capture(),
+                anyString(), anyString(), any(), anyString());
+
+        assertEquals("hashed-password", passwordCaptor.getValue());
+    }
+
+    @Test
+    void login_WithValidCredentials_ShouldReturnTokenAndResetFailures() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        User user = User.builder()
+                .id(1L)
+                .email("john@example.com")
+                .password("hashed-password")
+                .firstName("John")
+                .lastName("Doe")
+                .role(Role.CUSTOMER)
+                .build();
+        LoginPrincipal principal = new LoginPrincipal(user);
+
+        LoginAttemptService.Attempt attempt = attempt();
+        when(loginAttemptService.reserve("john@example.com", "10.0.0.1")).thenReturn(attempt);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities()));
+        when(refreshTokenService.issue("john@example.com")).thenReturn(
+                new RefreshTokenService.RefreshToken("fam.secret", "fam", "john@example.com"));
+        when(jwtTokenProvider.generateToken(principal, "fam")).thenReturn("mock-jwt-token");
+        when(jwtTokenProvider.accessTokenLifetime()).thenReturn(Duration.ofMinutes(15));
+
+        // Act
+        AuthResponse response = authService.login(request, "10.0.0.1");
+
+        // Assert
+        assertEquals("mock-jwt-token", response.getToken());
+        assertEquals("John", response.getFirstName());
+        assertEquals("CUSTOMER", response.getRole());
+        verify(loginAttemptService).recordSuccess(attempt);
+        verify(auditLog).record(AuditEventType.LOGIN_SUCCEEDED, "john@example.com");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void login_WithBadCredentials_ShouldKeepTheReservedAttempt() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("wrong-password");
+
+        when(loginAttemptService.reserve("john@example.com", "10.0.0.1")).thenReturn(attempt());
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> authService.login(request, "10.0.0.1"));
+        verify(loginAttemptService, never()).recordSuccess(any());
+        verify(loginAttemptService, never()).release(any());
+        verify(auditLog).record(AuditEventType.LOGIN_FAILED, "john@example.com");
+    }
+
+    @Test
+    void login_WhenAuthenticationFailsWithoutVerdict_ShouldReleaseTheAttempt() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        LoginAttemptService.Attempt attempt = attempt();
+        when(loginAttemptService.reserve("john@example.com", "10.0.0.1")).thenReturn(attempt);
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new ServiceOverloadedException(
+                        "Authentication is busy, please retry shortly", 1));
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class,
+                () -> authService.login(request, "10.0.0.1"));
+        verify(loginAttemptService).release(attempt);
+        verify(loginAttemptService, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldNotAuthenticate() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("password123");
+
+        when(loginAttemptService.reserve("john@example.com", "10.0.0.1"))
+                .thenThrow(new TooManyRequestsException("Too many failed login attempts", 60));
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.login(request, "10.0.0.1"));
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void refresh_WithCurrentToken_ShouldRotateAndIssueAccessToken() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("fam.old");
+
+        User user = User.builder()
+                .id(1L)
+                .email("john@example.com")
+                .password("hashed-password")
+                .firstName("John")
+                .lastName("Doe")
+                .role(Role.CUSTOMER)
+                .build();
+
+        when(refreshTokenService.rotate("fam.old")).thenReturn(
+                new RefreshTokenService.RefreshToken("fam.new", "fam", "john@example.com"));
+        readThrough();
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken(any(), eq("fam"))).thenReturn("mock-jwt-token");
+        when(jwtTokenProvider.accessTokenLifetime()).thenReturn(Duration.ofMinutes(15));
+
+        // Act
+        AuthResponse response = authService.refresh(request);
+
+        // Assert
+        assertEquals("mock-jwt-token", response.getToken());
+        assertEquals("fam.new", response.getRefreshToken());
+        verify(authenticationManager, never()).authenticate(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void refresh_WithReusedToken_ShouldReject() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("fam.old");
+
+        when(refreshTokenService.rotate("fam.old"))
+                .thenThrow(new InvalidRefreshTokenException("Invalid or expired refresh token"));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> authService.refresh(request));
+        verify(jwtTokenProvider, never()).generateToken(any(UserDetails.class), any());
+    }
+
+    @Test
+    void refresh_WhenUserNoLongerExists_ShouldRevokeFamily() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("fam.old");
+
+        when(refreshTokenService.rotate("fam.old")).thenReturn(
+                new RefreshTokenService.RefreshToken("fam.new", "fam", "gone@example.com"));
+        readThrough();
+        when(userRepository.findByEmail("gone@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> authService.refresh(request));
+        verify(refreshTokenService).revokeFamily("fam");
+    }
+
+    // Run the transaction callback inline
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<Long>>getArgument(0).doInTransaction(null));
+    }
+
+    // Run lookups straight against the repository, as without replicas
+    private void readThrough() {
+        when(readYourWrites.find(any(), any())).thenAnswer(
+                invocation -> invocation.<Supplier<Optional<User>>>getArgument(1).get());
+    }
 
-        User savedUser = userCaptor.getValue();
-        assertEquals("hashed-password", savedUser.getPassword());
+    private static LoginAttemptService.Attempt attempt() {
+        return new LoginAttemptService.Attempt(
+                "login:failures:email:john@example.com",
+                "login:failures:ip:10.0.0.1",
+                "1700000000000:attempt");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.banking.service;
+
+import com.banking.exception.InvalidRequestException;
+import com.banking.mail.EmailMessage;
+import com.banking.model.EmailVerificationToken;
+import com.banking.model.OutboxMessage;
+import com.banking.model.User;
+import com.banking.repository.EmailVerificationTokenRepository;
+import com.banking.repository.OutboxRepository;
+import com.banking.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailVerificationServiceTest {
+
+    private static final String URL = "https://bank.example/verify?token=";
+    private static final String TOKEN = "token-from-the-email";
+
+    @Mock
+    private EmailVerificationTokenRepository tokenRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private EmailVerificationService emailVerificationService;
+
+    @BeforeEach
+    void setUp() {
+        emailVerificationService = new EmailVerificationService(tokenRepository, outboxRepository,
+                userRepository, new ObjectMapper(), Duration.ofHours(24), URL);
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldMarkUserVerifiedAndConsumeTokens() {
+
+        // Arrange
+        User user = user(false);
+        when(tokenRepository.findById(EmailVerificationService.sha256(TOKEN)))
+                .thenReturn(Optional.of(token(LocalDateTime.now().plusHours(1))));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // Act
+        String email = emailVerificationService.verify(TOKEN);
+
+        // Assert
+        assertEquals("john@example.com", email);
+        assertTrue(user.getIsVerified());
+        verify(tokenRepository).deleteByUserId(7L);
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldThrow() {
+
+        // Arrange
+        when(tokenRepository.findById(EmailVerificationService.sha256(TOKEN)))
+                .thenReturn(Optional.of(token(LocalDateTime.now().minusSeconds(1))));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> emailVerificationService.verify(TOKEN));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void verify_WithTokenAlreadyUsed_ShouldThrow() {
+
+        // Arrange: the first use deletes the user's tokens
+        when(tokenRepository.findById(EmailVerificationService.sha256(TOKEN)))
+                .thenReturn(Optional.of(token(LocalDateTime.now().plusHours(1))))
+                .thenReturn(Optional.empty());
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(false)));
+        emailVerificationService.verify(TOKEN);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> emailVerificationService.verify(TOKEN));
+    }
+
+    @Test
+    void requestVerification_ShouldQueueNoToken() {
+
+        // Act
+        emailVerificationService.requestVerification(7L, "john@example.com", "John");
+
+        // Assert
+        ArgumentCaptor<OutboxMessage> queued = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxRepository).save(queued.capture());
+        assertEquals(EmailVerificationService.OUTBOX_TYPE, queued.getValue().getType());
+        assertFalse(queued.getValue().getPayload().contains("token"));
+        verifyNoInteractions(tokenRepository);
+    }
+
+    @Test
+    void render_ShouldStoreOnlyTheHashOfTheEmailedToken() {
+
+        // Arrange
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(false)));
+
+        // Act
+        EmailMessage email = emailVerificationService.render(
+                new EmailVerificationService.VerificationEmail(7L, "john@example.com", "John"))
+                .orElseThrow();
+
+        // Assert
+        String token = email.body().replaceAll("(?s).*" + Pattern.quote(URL) + "(\\S+).*", "$1");
+        ArgumentCaptor<EmailVerificationToken> stored = ArgumentCaptor.forClass(EmailVerificationToken.class);
+        verify(tokenRepository).save(stored.capture());
+        assertEquals(EmailVerificationService.sha256(token), stored.getValue().getTokenHash());
+        assertNotEquals(token, stored.getValue().getTokenHash());
+    }
+
+    @Test
+    void render_ForVerifiedUser_ShouldSendNothing() {
+
+        // Arrange
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(true)));
+
+        // Act & Assert
+        assertTrue(emailVerificationService.render(
+                new EmailVerificationService.VerificationEmail(7L, "john@example.com", "John"))
+                .isEmpty());
+        verify(tokenRepository, never()).save(any());
+    }
+
+    private static EmailVerificationToken token(LocalDateTime expiresAt) {
+        return EmailVerificationToken.builder()
+                .tokenHash(EmailVerificationService.sha256(TOKEN))
+                .userId(7L)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static User user(boolean verified) {
+        return User.builder()
+                .id(7L)
+                .email("john@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .isVerified(verified)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.banking.service;
+
+import com.banking.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL_KEY = "login:failures:email:john@example.com";
+    private static final String IP_KEY = "login:failures:ip:10.0.0.1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService(redisTemplate, true, 5, 50,
+                Duration.ofMinutes(15));
+    }
+
+    @Test
+    void reserve_WhenUnderLimits_ShouldCountTheAttemptInBothWindows() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any()))
+                .thenReturn(List.of(0L, 0L));
+
+        // Act
+        LoginAttemptService.Attempt attempt =
+                loginAttemptService.reserve(" John@Example.com ", "10.0.0.1");
+
+        // Assert
+        assertEquals(EMAIL_KEY, attempt.emailKey());
+        assertEquals(IP_KEY, attempt.ipKey());
+        assertNotNull(attempt.member());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(EMAIL_KEY, IP_KEY)),
+                any(), any(), eq(attempt.member()), eq("5"), eq("50"));
+    }
+
+    @Test
+    void reserve_WhenEmailAtLimit_ShouldRejectAndRememberTheBlockLocally() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any()))
+                .thenReturn(List.of(1L, System.currentTimeMillis()));
+
+        // Act
+        TooManyRequestsException first = assertThrows(TooManyRequestsException.class,
+                () -> loginAttemptService.reserve("john@example.com", "10.0.0.1"));
+        assertThrows(TooManyRequestsException.class,
+                () -> loginAttemptService.reserve("john@example.com", "10.0.0.2"));
+
+        // Assert
+        assertTrue(first.getRetryAfterSeconds() > 0);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reserve_WhenRedisDown_ShouldFailOpenWithoutReservation() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        LoginAttemptService.Attempt attempt =
+                loginAttemptService.reserve("john@example.com", "10.0.0.1");
+        loginAttemptService.release(attempt);
+
+        // Assert
+        assertNull(attempt.member());
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    void recordSuccess_ShouldClearEmailWindowAndRefundTheIpAttempt() {
+
+        // Arrange
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        LoginAttemptService.Attempt attempt =
+                new LoginAttemptService.Attempt(EMAIL_KEY, IP_KEY, "1:member");
+
+        // Act
+        loginAttemptService.recordSuccess(attempt);
+
+        // Assert
+        verify(redisTemplate).delete(EMAIL_KEY);
+        verify(zSetOperations).remove(IP_KEY, "1:member");
+    }
+
+    @Test
+    void release_ShouldRefundTheAttemptFromBothWindows() {
+
+        // Arrange
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        LoginAttemptService.Attempt attempt =
+                new LoginAttemptService.Attempt(EMAIL_KEY, IP_KEY, "1:member");
+
+        // Act
+        loginAttemptService.release(attempt);
+
+        // Assert
+        verify(zSetOperations).remove(EMAIL_KEY, "1:member");
+        verify(zSetOperations).remove(IP_KEY, "1:member");
+    }
+}
@@ -0,0 +1,168 @@
+package com.banking.service;
+
+import com.banking.mail.EmailMessage;
+import com.banking.mail.EmailSender;
+import com.banking.model.OutboxMessage;
+import com.banking.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES_PER_POLL = 3;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final EmailMessage RENDERED =
+            new EmailMessage("john@example.com", "Confirm", "link");
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private EmailSender emailSender;
+
+    @Mock
+    private EmailVerificationService emailVerificationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxRepository, emailSender, emailVerificationService,
+                objectMapper, new SimpleMeterRegistry(), false, BATCH_SIZE, MAX_BATCHES_PER_POLL,
+                1000, Duration.ofSeconds(60), MAX_ATTEMPTS,
+                Duration.ofSeconds(10), Duration.ofHours(1));
+    }
+
+    @Test
+    void dispatch_WhenSendFails_ShouldRescheduleWithExponentialBackoff() {
+
+        // Arrange
+        when(outboxRepository.claimBatch(BATCH_SIZE, 60)).thenReturn(List.of(email(1L, 3)));
+        when(emailVerificationService.render(any())).thenReturn(Optional.of(RENDERED));
+        doThrow(new IllegalStateException("SMTP down")).when(emailSender).send(any());
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        // Assert: third attempt, 10s * 2^2 = 40s, with up to half as jitter
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(1L), next.capture(), eq("SMTP down"));
+        assertFalse(next.getValue().isBefore(before.plusSeconds(20)));
+        assertFalse(next.getValue().isAfter(LocalDateTime.now().plusSeconds(40)));
+        verify(outboxRepository, never()).markFailed(anyLong(), anyString());
+        verify(outboxRepository, never()).deleteSent(anyLong());
+    }
+
+    @Test
+    void dispatch_WhenOutOfAttempts_ShouldMarkFailed() {
+
+        // Arrange
+        when(outboxRepository.claimBatch(BATCH_SIZE, 60)).thenReturn(List.of(email(1L, MAX_ATTEMPTS)));
+        when(emailVerificationService.render(any())).thenReturn(Optional.of(RENDERED));
+        doThrow(new IllegalStateException("SMTP down")).when(emailSender).send(any());
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        verify(outboxRepository).markFailed(1L, "SMTP down");
+        verify(outboxRepository, never()).reschedule(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void dispatch_WithUnknownType_ShouldGiveUpWithoutSending() {
+
+        // Arrange
+        when(outboxRepository.claimBatch(BATCH_SIZE, 60)).thenReturn(List.of(OutboxMessage.builder()
+                .id(1L)
+                .type("SMS")
+                .payload("{}")
+                .attempts(1)
+                .build()));
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        verify(outboxRepository).markFailed(1L, "Unknown outbox type SMS");
+        verifyNoInteractions(emailSender);
+    }
+
+    @Test
+    void dispatch_WithVerificationRow_ShouldRenderAtSendTime() throws Exception {
+
+        // Arrange
+        EmailVerificationService.VerificationEmail request =
+                new EmailVerificationService.VerificationEmail(7L, "john@example.com", "John");
+        EmailMessage rendered = new EmailMessage("john@example.com", "Confirm", "link");
+        when(outboxRepository.claimBatch(BATCH_SIZE, 60)).thenReturn(List.of(OutboxMessage.builder()
+                .id(1L)
+                .type(EmailVerificationService.OUTBOX_TYPE)
+                .payload(objectMapper.writeValueAsString(request))
+                .attempts(1)
+                .build()));
+        when(emailVerificationService.render(request)).thenReturn(Optional.of(rendered));
+
+        // Act
+        dispatcher.dispatch();
+
+        // Assert
+        verify(emailSender).send(rendered);
+        verify(outboxRepository).deleteSent(1L);
+    }
+
+    @Test
+    void dispatch_WithLargeBacklog_ShouldStopAfterPerPollCap() {
+
+        // Arrange: every claim comes back full
+        when(outboxRepository.claimBatch(BATCH_SIZE, 60)).thenAnswer(invocation ->
+                LongStream.range(0, BATCH_SIZE).mapToObj(id -> email(id, 1)).toList());
+
+        // Act
+        int handled = dispatcher.dispatch();
+
+        // Assert
+        assertEquals(BATCH_SIZE * MAX_BATCHES_PER_POLL, handled);
+        verify(outboxRepository, times(MAX_BATCHES_PER_POLL)).claimBatch(anyInt(), anyLong());
+    }
+
+    private OutboxMessage email(Long id, int attempts) {
+        try {
+            return OutboxMessage.builder()
+                    .id(id)
+                    .type(EmailVerificationService.OUTBOX_TYPE)
+                    .payload(objectMapper.writeValueAsString(
+                            new EmailVerificationService.VerificationEmail(7L, "john@example.com", "John")))
+                    .attempts(attempts)
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
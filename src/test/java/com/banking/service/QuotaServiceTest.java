@@ -0,0 +1,150 @@
+package com.banking.service;
+
+import com.banking.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuotaServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private QuotaService quotaService;
+
+    @BeforeEach
+    void setUp() {
+        quotaService = new QuotaService(redisTemplate, new SimpleMeterRegistry(),
+                true, 20, 40, 50, 100, 5, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void acquire_ShouldServeLeasedPermitsWithoutRedis() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(5L, 35L, 0L));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(quotaService.acquire("42", Role.CUSTOMER).allowed());
+        }
+
+        // Assert
+        verify(redisTemplate, times(1))
+                .execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    void acquire_WhenBucketEmpty_ShouldRejectAndNotAskRedisAgain() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(0L, 0L, 30_000L));
+
+        // Act
+        QuotaService.Decision first = quotaService.acquire("42", Role.CUSTOMER);
+        QuotaService.Decision second = quotaService.acquire("42", Role.CUSTOMER);
+
+        // Assert
+        assertFalse(first.allowed());
+        assertFalse(second.allowed());
+        assertEquals(40, first.limit());
+        assertTrue(first.resetSeconds() >= 29);
+        verify(redisTemplate, times(1))
+                .execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    void acquire_WhenRedisUnavailable_ShouldFailOpen() {
+
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        QuotaService.Decision decision = quotaService.acquire("42", Role.CUSTOMER);
+
+        // Assert
+        assertTrue(decision.allowed());
+        assertFalse(decision.isLimited());
+    }
+
+    @Test
+    void acquire_WhenBusyOnOneNode_ShouldRampUpToFullLeases() {
+
+        // Arrange
+        List<String> requested = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    String count = invocation.getArgument(4);
+                    requested.add(count);
+                    return List.of(Long.parseLong(count), 30L, 0L);
+                });
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertTrue(quotaService.acquire("42", Role.CUSTOMER).allowed());
+        }
+
+        // Assert
+        assertEquals("1", requested.get(0));
+        assertEquals("5", requested.get(requested.size() - 1));
+        assertTrue(requested.size() < 10, requested.toString());
+    }
+
+    @Test
+    void acquire_WhenCallerSpreadAcrossNodes_ShouldNotWasteTheQuota() throws Exception {
+
+        // Arrange: 10 nodes share one bucket of 40 tokens that barely refills
+        AtomicLong bucket = new AtomicLong(40);
+        StringRedisTemplate sharedRedis = mock(StringRedisTemplate.class);
+        when(sharedRedis.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    long wanted = Long.parseLong(invocation.getArgument(4));
+                    long granted;
+                    synchronized (bucket) {
+                        granted = Math.min(wanted, bucket.get());
+                        bucket.addAndGet(-granted);
+                    }
+                    return List.of(granted, bucket.get(), granted == 0 ? 30_000L : 0L);
+                });
+        List<QuotaService> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            nodes.add(new QuotaService(sharedRedis, new SimpleMeterRegistry(),
+                    true, 0.001, 40, 50, 100, 5, Duration.ofMillis(50)));
+        }
+
+        // Act: round-robin at well under one request per lease period per node
+        int allowed = 0;
+        for (int round = 0; round < 4; round++) {
+            for (QuotaService node : nodes) {
+                if (node.acquire("42", Role.CUSTOMER).allowed()) {
+                    allowed++;
+                }
+            }
+            Thread.sleep(60);
+        }
+
+        // Assert: every token in the bucket went to a request
+        assertEquals(40, allowed);
+        assertEquals(0, bucket.get());
+    }
+}
@@ -0,0 +1,157 @@
+package com.banking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesWindowTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    // Where each query ran: "replica" outside the template, "primary" inside it
+    private final List<String> queries = new ArrayList<>();
+    private boolean onPrimary;
+
+    @Test
+    void find_WhenDisabled_ShouldQueryOnceWithoutTheTemplate() {
+
+        // Arrange
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, false, Duration.ofSeconds(5));
+        window.recordWrite(EMAIL);
+
+        // Act
+        Optional<String> result = window.find(EMAIL, query(Optional.empty(), Optional.empty()));
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(List.of("replica"), queries);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void find_WhenReplicaHasTheRow_ShouldNotTouchThePrimary() {
+
+        // Arrange
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, true, Duration.ofSeconds(5));
+
+        // Act
+        Optional<String> result = window.find(EMAIL, query(Optional.of("replica row"), Optional.empty()));
+
+        // Assert
+        assertEquals(Optional.of("replica row"), result);
+        assertEquals(List.of("replica"), queries);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void find_AfterLocalWrite_ShouldGoStraightToThePrimary() {
+
+        // Arrange
+        runTemplateCallbacks();
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, true, Duration.ofSeconds(5));
+        window.recordWrite(EMAIL);
+
+        // Act
+        Optional<String> result = window.find(EMAIL,
+                query(Optional.of("stale row"), Optional.of("fresh row")));
+
+        // Assert
+        assertEquals(Optional.of("fresh row"), result);
+        assertEquals(List.of("primary"), queries);
+    }
+
+    @Test
+    void find_WhenReplicaMisses_ShouldRetryOnThePrimary() {
+
+        // Arrange: registered through another node, not yet replayed
+        runTemplateCallbacks();
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, true, Duration.ofSeconds(5));
+
+        // Act
+        Optional<String> result = window.find(EMAIL,
+                query(Optional.empty(), Optional.of("fresh row")));
+
+        // Assert
+        assertEquals(Optional.of("fresh row"), result);
+        assertEquals(List.of("replica", "primary"), queries);
+    }
+
+    @Test
+    void find_AfterTheWindow_ShouldReadFromTheReplicaAgain() throws Exception {
+
+        // Arrange
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, true, Duration.ofMillis(20));
+        window.recordWrite(EMAIL);
+        Thread.sleep(50);
+
+        // Act
+        Optional<String> result = window.find(EMAIL,
+                query(Optional.of("replica row"), Optional.empty()));
+
+        // Assert
+        assertEquals(Optional.of("replica row"), result);
+        assertEquals(List.of("replica"), queries);
+    }
+
+    @Test
+    void read_ShouldSayWhetherTheRowCameFromThePrimary() {
+
+        // Arrange
+        runTemplateCallbacks();
+        ReadYourWritesWindow window = new ReadYourWritesWindow(
+                transactionTemplate, true, Duration.ofSeconds(5));
+
+        // Act
+        ReadYourWritesWindow.Read<String> replica = window.read(EMAIL,
+                query(Optional.of("replica row"), Optional.empty()));
+        window.recordWrite(EMAIL);
+        ReadYourWritesWindow.Read<String> primary = window.read(EMAIL,
+                query(Optional.of("stale row"), Optional.of("fresh row")));
+
+        // Assert
+        assertFalse(replica.fromPrimary());
+        assertTrue(primary.fromPrimary());
+        assertEquals(Optional.of("fresh row"), primary.value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTemplateCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            onPrimary = true;
+            try {
+                return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                onPrimary = false;
+            }
+        });
+    }
+
+    private Supplier<Optional<String>> query(Optional<String> replica, Optional<String> primary) {
+        return () -> {
+            queries.add(onPrimary ? "primary" : "replica");
+            return onPrimary ? primary : replica;
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package com.banking.service;
+
+import com.banking.exception.InvalidRefreshTokenException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the rotation and issue scripts against a real Redis
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenServiceTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+    private static final String FAMILY_PREFIX = "tokens:refresh:family:";
+    private static final String USER_KEY = "tokens:refresh:user:" + EMAIL;
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>("redis:7").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+        }
+        refreshTokenService = service(Duration.ofDays(14), Duration.ofDays(30));
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheDigestWithTtlsAndIndexTheFamily() {
+
+        // Act
+        RefreshTokenService.RefreshToken issued = refreshTokenService.issue(EMAIL);
+
+        // Assert
+        String familyKey = FAMILY_PREFIX + issued.familyId();
+        Map<Object, Object> family = redisTemplate.opsForHash().entries(familyKey);
+        assertEquals(EMAIL, family.get("email"));
+        assertNotNull(family.get("created"));
+        assertNotNull(family.get("current"));
+        assertNotEquals(issued.token(), family.get("current"));
+        assertTrue(issued.token().startsWith(issued.familyId() + "."));
+
+        long familyTtl = redisTemplate.getExpire(familyKey, TimeUnit.MILLISECONDS);
+        assertTrue(familyTtl > 0 && familyTtl <= Duration.ofDays(14).toMillis(), "TTL " + familyTtl);
+        assertTrue(redisTemplate.opsForSet().isMember(USER_KEY, issued.familyId()));
+        assertTrue(redisTemplate.getExpire(USER_KEY, TimeUnit.MILLISECONDS) > 0);
+    }
+
+    @Test
+    void issue_WithMaxLifetimeBelowIdleTimeout_ShouldCapTheFamilyTtl() {
+
+        // Arrange
+        refreshTokenService = service(Duration.ofDays(14), Duration.ofHours(1));
+
+        // Act
+        RefreshTokenService.RefreshToken issued = refreshTokenService.issue(EMAIL);
+
+        // Assert
+        long familyTtl = redisTemplate.getExpire(FAMILY_PREFIX + issued.familyId(),
+                TimeUnit.MILLISECONDS);
+        assertTrue(familyTtl > 0 && familyTtl <= Duration.ofHours(1).toMillis(), "TTL " + familyTtl);
+    }
+
+    @Test
+    void rotate_ShouldReplaceTheTokenWithinTheFamily() {
+
+        // Arrange
+        RefreshTokenService.RefreshToken first = refreshTokenService.issue(EMAIL);
+
+        // Act
+        RefreshTokenService.RefreshToken second = refreshTokenService.rotate(first.token());
+        RefreshTokenService.RefreshToken third = refreshTokenService.rotate(second.token());
+
+        // Assert
+        assertEquals(first.familyId(), second.familyId());
+        assertEquals(first.familyId(), third.familyId());
+        assertEquals(EMAIL, third.email());
+        assertNotEquals(first.token(), second.token());
+        assertNotEquals(second.token(), third.token());
+    }
+
+    @Test
+    void rotate_WithAnOlderToken_ShouldRevokeTheWholeFamily() {
+
+        // Arrange
+        RefreshTokenService.RefreshToken first = refreshTokenService.issue(EMAIL);
+        RefreshTokenService.RefreshToken second = refreshTokenService.rotate(first.token());
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(first.token()));
+        assertFalse(redisTemplate.hasKey(FAMILY_PREFIX + first.familyId()));
+        // The legitimate holder's current token died with the family
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(second.token()));
+    }
+
+    @Test
+    void rotate_ShouldResetTheIdleTtlButNotPastTheMaxLifetime() {
+
+        // Arrange
+        refreshTokenService = service(Duration.ofDays(14), Duration.ofDays(30));
+        RefreshTokenService.RefreshToken first = refreshTokenService.issue(EMAIL);
+        String familyKey = FAMILY_PREFIX + first.familyId();
+        // Pretend the family started 29 days ago: one day of lifetime is left
+        redisTemplate.opsForHash().put(familyKey, "created",
+                String.valueOf(System.currentTimeMillis() - Duration.ofDays(29).toMillis()));
+
+        // Act
+        refreshTokenService.rotate(first.token());
+
+        // Assert
+        long familyTtl = redisTemplate.getExpire(familyKey, TimeUnit.MILLISECONDS);
+        assertTrue(familyTtl > 0 && familyTtl <= Duration.ofDays(1).toMillis(), "TTL " + familyTtl);
+    }
+
+    @Test
+    void rotate_PastTheMaxLifetime_ShouldFailAndDeleteTheFamily() {
+
+        // Arrange
+        RefreshTokenService.RefreshToken first = refreshTokenService.issue(EMAIL);
+        String familyKey = FAMILY_PREFIX + first.familyId();
+        redisTemplate.opsForHash().put(familyKey, "created",
+                String.valueOf(System.currentTimeMillis() - Duration.ofDays(31).toMillis()));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(first.token()));
+        assertFalse(redisTemplate.hasKey(familyKey));
+    }
+
+    @Test
+    void rotate_AfterTheIdleTimeout_ShouldFail() throws Exception {
+
+        // Arrange
+        refreshTokenService = service(Duration.ofMillis(200), Duration.ofDays(30));
+        RefreshTokenService.RefreshToken first = refreshTokenService.issue(EMAIL);
+
+        // Act
+        Thread.sleep(500);
+
+        // Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(first.token()));
+    }
+
+    @Test
+    void rotate_WithMalformedToken_ShouldFailWithoutTouchingRedis() {
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate("no-separator"));
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate("family."));
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(".secret"));
+    }
+
+    @Test
+    void revokeAll_ShouldRevokeEveryFamilyOfTheUserOnly() {
+
+        // Arrange
+        RefreshTokenService.RefreshToken laptop = refreshTokenService.issue(EMAIL);
+        RefreshTokenService.RefreshToken phone = refreshTokenService.issue("John.Doe@Example.com");
+        RefreshTokenService.RefreshToken other = refreshTokenService.issue("jane@example.com");
+
+        // Act
+        refreshTokenService.revokeAll(" JOHN.DOE@example.com ");
+
+        // Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(laptop.token()));
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(phone.token()));
+        assertFalse(redisTemplate.hasKey(USER_KEY));
+        assertEquals("jane@example.com", refreshTokenService.rotate(other.token()).email());
+    }
+
+    @Test
+    void revokeFamily_ShouldRevokeOnlyThatSession() {
+
+        // Arrange
+        RefreshTokenService.RefreshToken laptop = refreshTokenService.issue(EMAIL);
+        RefreshTokenService.RefreshToken phone = refreshTokenService.issue(EMAIL);
+
+        // Act
+        refreshTokenService.revokeFamily(laptop.familyId());
+
+        // Assert
+        assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(laptop.token()));
+        assertEquals(phone.familyId(), refreshTokenService.rotate(phone.token()).familyId());
+    }
+
+    private static RefreshTokenService service(Duration idleTimeout, Duration maxLifetime) {
+        return new RefreshTokenService(redisTemplate, idleTimeout, maxLifetime);
+    }
+}
@@ -0,0 +1,279 @@
+package com.banking.service;
+
+import com.banking.dto.request.TransferRequest;
+import com.banking.dto.response.TransferResponse;
+import com.banking.exception.AccountNotFoundException;
+import com.banking.exception.IdempotencyKeyReusedException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.InvalidRequestException;
+import com.banking.model.Account;
+import com.banking.model.AccountType;
+import com.banking.model.LedgerEntry;
+import com.banking.model.LedgerTransaction;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.LedgerEntryRepository;
+import com.banking.repository.LedgerTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LedgerTransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerEntryRepository entryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        transferService = new TransferService(accountRepository, transactionRepository,
+                entryRepository, transactionTemplate, new SimpleMeterRegistry(),
+                3, Duration.ZERO);
+    }
+
+    @Test
+    void transfer_WithSufficientFunds_ShouldMoveMoneyAndJournalBalancedEntries() {
+
+        // Arrange
+        inTransaction();
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "100.00"), account(2L, 8L, "5.00")));
+        when(transactionRepository.save(any())).thenAnswer(invocation -> {
+            LedgerTransaction transaction = invocation.getArgument(0);
+            transaction.setId(99L);
+            return transaction;
+        });
+
+        // Act
+        TransferResponse response = transferService.transfer(7L, "key-1", request(1L, 2L, "40.00"))
+                .response();
+
+        // Assert
+        assertEquals(99L, response.getTransactionId());
+        assertEquals(new BigDecimal("60.00"), response.getBalanceAfter());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(entryRepository).saveAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
+        assertEquals(0, entries.getValue().stream()
+                .map(LedgerEntry::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .signum());
+        assertEquals(new BigDecimal("-40.00"), entries.getValue().get(0).getAmount());
+        assertEquals(new BigDecimal("45.00"), entries.getValue().get(1).getBalanceAfter());
+
+        ArgumentCaptor<LedgerTransaction> transaction = ArgumentCaptor.forClass(LedgerTransaction.class);
+        verify(transactionRepository).save(transaction.capture());
+        assertEquals(7L, transaction.getValue().getUserId());
+        assertEquals("key-1", transaction.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void transfer_RetriedWithSameKey_ShouldReplayWithoutPostingAgain() {
+
+        // Arrange
+        inTransaction();
+        TransferRequest request = request(1L, 2L, "40.00");
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "60.00"), account(2L, 8L, "45.00")));
+        when(transactionRepository.findByUserIdAndIdempotencyKey(7L, "key-1"))
+                .thenReturn(Optional.of(LedgerTransaction.builder()
+                        .id(99L)
+                        .userId(7L)
+                        .idempotencyKey("key-1")
+                        .requestHash(TransferService.requestHash(request))
+                        .build()));
+        when(entryRepository.findByTransactionId(99L)).thenReturn(List.of(
+                entry(1L, "-40.00", "60.00"),
+                entry(2L, "40.00", "45.00")));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, 7L, "60.00")));
+
+        // Act
+        TransferService.Posted posted = transferService.transfer(7L, "key-1", request);
+
+        // Assert
+        assertTrue(posted.replayed());
+        assertEquals(99L, posted.response().getTransactionId());
+        assertEquals(new BigDecimal("60.00"), posted.response().getBalanceAfter());
+        assertEquals(new BigDecimal("40.00"), posted.response().getAmount());
+        verify(transactionRepository, never()).save(any());
+        verify(entryRepository, never()).saveAll(anyList());
+        verify(accountRepository, never()).flush();
+    }
+
+    @Test
+    void transfer_WithKeyUsedForDifferentTransfer_ShouldThrow() {
+
+        // Arrange
+        inTransaction();
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "100.00"), account(2L, 8L, "0.00")));
+        when(transactionRepository.findByUserIdAndIdempotencyKey(7L, "key-1"))
+                .thenReturn(Optional.of(LedgerTransaction.builder()
+                        .id(99L)
+                        .requestHash(TransferService.requestHash(request(1L, 2L, "40.00")))
+                        .build()));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> transferService.transfer(7L, "key-1", request(1L, 2L, "41.00")));
+        verify(entryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void transfer_WhenConcurrentDuplicateCommitsFirst_ShouldReplayIt() {
+
+        // Arrange
+        inTransaction();
+        TransferRequest request = request(1L, 2L, "40.00");
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "100.00"), account(2L, 8L, "5.00")));
+        when(transactionRepository.findByUserIdAndIdempotencyKey(7L, "key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(LedgerTransaction.builder()
+                        .id(99L)
+                        .requestHash(TransferService.requestHash(request))
+                        .build()));
+        when(transactionRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("uq_ledger_transactions_idempotency"));
+        when(entryRepository.findByTransactionId(99L)).thenReturn(List.of(
+                entry(1L, "-40.00", "60.00"),
+                entry(2L, "40.00", "45.00")));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, 7L, "60.00")));
+
+        // Act
+        TransferService.Posted posted = transferService.transfer(7L, "key-1", request);
+
+        // Assert
+        assertTrue(posted.replayed());
+        assertEquals(99L, posted.response().getTransactionId());
+    }
+
+    @Test
+    void transfer_WithoutIdempotencyKey_ShouldBeRejected() {
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> transferService.transfer(7L, " ", request(1L, 2L, "1.00")));
+        verifyNoInteractions(accountRepository, transactionRepository, entryRepository);
+    }
+
+    @Test
+    void transfer_WithInsufficientFunds_ShouldThrowAndWriteNothing() {
+
+        // Arrange
+        inTransaction();
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "10.00"), account(2L, 8L, "0.00")));
+
+        // Act & Assert
+        assertThrows(InsufficientFundsException.class,
+                () -> transferService.transfer(7L, "key-1", request(1L, 2L, "10.01")));
+        verify(accountRepository, never()).flush();
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(entryRepository);
+    }
+
+    @Test
+    void transfer_FromAnotherUsersAccount_ShouldThrowNotFound() {
+
+        // Arrange
+        inTransaction();
+        when(accountRepository.findAllForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, 7L, "100.00"), account(2L, 8L, "0.00")));
+
+        // Act & Assert
+        assertThrows(AccountNotFoundException.class,
+                () -> transferService.transfer(8L, "key-1", request(1L, 2L, "1.00")));
+        verifyNoInteractions(entryRepository);
+    }
+
+    @Test
+    void transfer_TouchingHotAccount_ShouldRetryOptimisticConflictWithoutLocking() {
+
+        // Arrange
+        when(accountRepository.findHotAccountIds()).thenReturn(List.of(2L));
+        transferService.refreshHotAccounts();
+        inTransaction();
+        // Fresh copies per attempt, as a new transaction would read them
+        when(accountRepository.findAllInIdOrder(List.of(1L, 2L))).thenAnswer(
+                invocation -> List.of(account(1L, 7L, "100.00"), account(2L, 8L, "0.00")));
+        doThrow(new ObjectOptimisticLockingFailureException(Account.class, 2L))
+                .doNothing()
+                .when(accountRepository).flush();
+        when(transactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransferResponse response = transferService.transfer(7L, "key-1", request(1L, 2L, "30.00"))
+                .response();
+
+        // Assert
+        assertEquals(new BigDecimal("70.00"), response.getBalanceAfter());
+        verify(accountRepository, times(2)).findAllInIdOrder(List.of(1L, 2L));
+        verify(accountRepository, never()).findAllForUpdate(anyList());
+        verify(entryRepository, times(1)).saveAll(anyList());
+    }
+
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<TransferResponse>>getArgument(0)
+                        .doInTransaction(null));
+    }
+
+    private static Account account(Long id, Long userId, String balance) {
+        return Account.builder()
+                .id(id)
+                .userId(userId)
+                .type(AccountType.CHECKING)
+                .currency("GBP")
+                .balance(new BigDecimal(balance))
+                .version(0L)
+                .build();
+    }
+
+    private static LedgerEntry entry(Long accountId, String amount, String balanceAfter) {
+        return LedgerEntry.builder()
+                .transactionId(99L)
+                .accountId(accountId)
+                .amount(new BigDecimal(amount))
+                .balanceAfter(new BigDecimal(balanceAfter))
+                .build();
+    }
+
+    private static TransferRequest request(Long from, Long to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package com.banking.service;
+
+import com.banking.model.Role;
+import com.banking.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuvwxyz012345678901234567890123";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        userDetailsCache = new UserDetailsCache(redisTemplate, new ObjectMapper(),
+                Duration.ofSeconds(60), 100, true, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void get_OnMiss_ShouldNotWriteThePasswordHashToRedis() {
+
+        // Arrange
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        UserPrincipal principal = userDetailsCache.get(EMAIL,
+                email -> primary(new UserPrincipal(7L, email, HASH, Role.CUSTOMER, 3L)));
+
+        // Assert
+        verify(valueOperations).set(eq("users:details:" + EMAIL), json.capture(),
+                any(Duration.class));
+        assertFalse(json.getValue().contains(HASH));
+        assertFalse(json.getValue().contains("password"));
+        assertEquals("", principal.getPassword());
+        assertEquals(7L, principal.getId());
+        assertEquals(3L, principal.getSecurityVersion());
+    }
+
+    @Test
+    void get_WhenLoadedFromAReplica_ShouldNotShareTheRowThroughRedis() {
+
+        // Act
+        UserPrincipal principal = userDetailsCache.get(EMAIL,
+                email -> new ReadYourWritesWindow.Read<>(
+                        Optional.of(new UserPrincipal(7L, email, HASH, Role.CUSTOMER, 3L)), false));
+
+        // Assert
+        assertEquals(3L, principal.getSecurityVersion());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void get_OnRedisHit_ShouldRebuildThePrincipalWithoutALoad() {
+
+        // Arrange
+        when(valueOperations.get("users:details:" + EMAIL)).thenReturn(
+                "{\"id\":7,\"email\":\"" + EMAIL + "\",\"role\":\"CUSTOMER\",\"securityVersion\":3}");
+
+        // Act
+        UserPrincipal principal = userDetailsCache.get(EMAIL, email -> {
+            throw new AssertionError("loader should not run");
+        });
+
+        // Assert
+        assertEquals(EMAIL, principal.getUsername());
+        assertEquals(Role.CUSTOMER, principal.getRole());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    private static ReadYourWritesWindow.Read<UserPrincipal> primary(UserPrincipal principal) {
+        return new ReadYourWritesWindow.Read<>(Optional.of(principal), true);
+    }
+}
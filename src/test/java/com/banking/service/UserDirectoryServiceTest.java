@@ -0,0 +1,103 @@
+package com.banking.service;
+
+import com.banking.dto.response.UserPageResponse;
+import com.banking.exception.InvalidRequestException;
+import com.banking.model.Role;
+import com.banking.repository.UserRepository;
+import com.banking.repository.UserSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 17, 10, 59, 41, 123456000);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserDirectoryService userDirectoryService;
+
+    @Test
+    void list_WhenMoreRowsThanLimit_ShouldReturnCursorForLastRow() {
+
+        // Arrange
+        List<UserSummary> rows = LongStream.rangeClosed(1, 3)
+                .mapToObj(i -> summary(10 - i, NOW.minusSeconds(i)))
+                .toList();
+        when(userRepository.findPage(isNull(), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(rows);
+
+        // Act
+        UserPageResponse page = userDirectoryService.list(null, null, null, 2);
+
+        // Assert
+        assertEquals(2, page.getUsers().size());
+        assertNotNull(page.getNextCursor());
+
+        UserDirectoryService.Cursor cursor = UserDirectoryService.Cursor.decode(page.getNextCursor());
+        assertEquals(8L, cursor.id());
+        assertEquals(NOW.minusSeconds(2), cursor.createdAt());
+    }
+
+    @Test
+    void list_WhenCursorGiven_ShouldSeekPastIt() {
+
+        // Arrange
+        String cursor = new UserDirectoryService.Cursor(NOW, 42L).encode();
+        when(userRepository.findPage(eq(Role.ADMIN), eq(true), eq(NOW), eq(42L), anyInt()))
+                .thenReturn(List.of(summary(41, NOW)));
+
+        // Act
+        UserPageResponse page = userDirectoryService.list(Role.ADMIN, true, cursor, null);
+
+        // Assert
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
+        verify(userRepository).findPage(Role.ADMIN, true, NOW, 42L,
+                UserDirectoryService.DEFAULT_LIMIT + 1);
+    }
+
+    @Test
+    void list_WhenLimitTooLarge_ShouldClamp() {
+
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        userDirectoryService.list(null, null, null, 10_000);
+
+        // Assert
+        verify(userRepository).findPage(null, null, null, null,
+                UserDirectoryService.MAX_LIMIT + 1);
+    }
+
+    @Test
+    void list_WhenCursorMalformed_ShouldThrow() {
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> userDirectoryService.list(null, null, "not-a-cursor", null));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserSummary summary(long id, LocalDateTime createdAt) {
+        return new UserSummary(id, "user" + id + "@example.com", "First", "Last",
+                "0771234567", Role.CUSTOMER, false, createdAt);
+    }
+}
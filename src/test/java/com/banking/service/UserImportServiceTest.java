@@ -0,0 +1,297 @@
+package com.banking.service;
+
+import com.banking.dto.response.BulkImportResponse;
+import com.banking.model.User;
+import com.banking.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+    private static final String CSV_HEADER = "email,passwordHash,firstName,lastName,phone,role";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserImportService userImportService;
+
+    @AfterEach
+    void tearDown() {
+        if (userImportService != null) {
+            userImportService.shutdown();
+        }
+    }
+
+    @Test
+    void parseCsvLine_ShouldSplitPlainFields() {
+
+        // Act & Assert
+        assertArrayEquals(new String[]{"a@example.com", "John", "Doe"},
+                UserImportService.parseCsvLine("a@example.com,John,Doe"));
+    }
+
+    @Test
+    void parseCsvLine_ShouldKeepCommasInsideQuotes() {
+
+        // Act & Assert
+        assertArrayEquals(new String[]{"a@example.com", "Doe, Jr.", "x"},
+                UserImportService.parseCsvLine("a@example.com,\"Doe, Jr.\",x"));
+    }
+
+    @Test
+    void parseCsvLine_ShouldUnescapeDoubledQuotes() {
+
+        // Act & Assert
+        assertArrayEquals(new String[]{"say \"hi\"", ""},
+                UserImportService.parseCsvLine("\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void parseCsvLine_ShouldKeepEmptyFields() {
+
+        // Act & Assert
+        assertArrayEquals(new String[]{"", "", ""},
+                UserImportService.parseCsvLine(",,"));
+        assertArrayEquals(new String[]{""},
+                UserImportService.parseCsvLine(""));
+    }
+
+    @Test
+    void importUsers_WithShortCsvRow_ShouldReportTheMissingField() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+        runTransactions();
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(csv(
+                "a@example.com," + HASH + ",John,Doe",
+                "b@example.com," + HASH + ",Jane"), true);
+
+        // Assert
+        assertEquals(2, response.getTotal());
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        BulkImportResponse.RowError error = response.getErrors().get(0);
+        assertEquals(3, error.getLine());
+        assertEquals("b@example.com", error.getEmail());
+        assertEquals("Last name is required", error.getMessage());
+    }
+
+    @Test
+    void importUsers_WithUnknownRole_ShouldReportAMalformedRow() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(csv(
+                "a@example.com," + HASH + ",John,Doe,,SUPERUSER"), true);
+
+        // Assert
+        assertEquals(1, response.getFailed());
+        assertEquals("Malformed row", response.getErrors().get(0).getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void importUsers_WithDuplicateInChunk_ShouldRejectTheSecondRow() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+        runTransactions();
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                row("a@example.com"), row("b@example.com"), row("a@example.com")), false);
+
+        // Assert
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertEquals("Duplicate email in import", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importUsers_WithDuplicateInLaterChunk_ShouldReportItAsRegistered() throws Exception {
+
+        // Arrange
+        userImportService = service(2);
+        runTransactions();
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("a@example.com"));
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                row("a@example.com"), row("b@example.com"), row("a@example.com")), false);
+
+        // Assert
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertEquals("Email already registered", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importUsers_WithAlreadyRegisteredEmail_ShouldSkipOnlyThatRow() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+        runTransactions();
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of("b@example.com"));
+        ArgumentCaptor<Iterable<User>> saved = captureSaveAll();
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                row("a@example.com"), row("b@example.com")), false);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals("Email already registered", response.getErrors().get(0).getMessage());
+        List<String> emails = new ArrayList<>();
+        saved.getValue().forEach(user -> emails.add(user.getEmail()));
+        assertEquals(List.of("a@example.com"), emails);
+    }
+
+    @Test
+    void importUsers_WhenChunkInsertConflicts_ShouldRetryRowByRow() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+        runTransactions();
+        when(userRepository.saveAll(any())).thenThrow(
+                new DataIntegrityViolationException("duplicate key"));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            assertNull(user.getId());
+            if (user.getEmail().equals("b@example.com")) {
+                throw new DuplicateKeyException("duplicate key");
+            }
+            return user;
+        });
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                row("a@example.com"), row("b@example.com"), row("c@example.com")), false);
+
+        // Assert
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertEquals("b@example.com", response.getErrors().get(0).getEmail());
+        assertEquals("Email already registered", response.getErrors().get(0).getMessage());
+        verify(userRepository, times(3)).save(any(User.class));
+    }
+
+    @Test
+    void importUsers_WhenRowBreaksAnotherConstraint_ShouldReportTheRealCause() throws Exception {
+
+        // Arrange
+        userImportService = service(10);
+        runTransactions();
+        when(userRepository.saveAll(any())).thenThrow(
+                new DataIntegrityViolationException("could not execute batch"));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (user.getEmail().equals("b@example.com")) {
+                throw new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("ERROR: value too long for type character varying(20)"
+                                + "\n  Detail: Failing row contains (...)", "22001"));
+            }
+            return user;
+        });
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                row("a@example.com"), row("b@example.com")), false);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals("ERROR: value too long for type character varying(20)",
+                response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importUsers_WithManyErrors_ShouldCapTheReportButCountAll() throws Exception {
+
+        // Arrange
+        userImportService = new UserImportService(userRepository, transactionTemplate,
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                10, 1, 2);
+
+        // Act
+        BulkImportResponse response = userImportService.importUsers(ndjson(
+                "{", "{", "{"), false);
+
+        // Assert
+        assertEquals(3, response.getFailed());
+        assertEquals(2, response.getErrors().size());
+    }
+
+    private UserImportService service(int chunkSize) {
+        return new UserImportService(userRepository, transactionTemplate, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), chunkSize, 1, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Iterable<User>> captureSaveAll() {
+        ArgumentCaptor<Iterable<User>> captor = ArgumentCaptor.forClass(Iterable.class);
+        when(userRepository.saveAll(captor.capture())).thenReturn(List.of());
+        return captor;
+    }
+
+    private static String row(String email) {
+        return "{\"email\":\"" + email + "\",\"passwordHash\":\"" + HASH
+                + "\",\"firstName\":\"John\",\"lastName\":\"Doe\"}";
+    }
+
+    private static ByteArrayInputStream csv(String... rows) {
+        return body(CSV_HEADER + "\n" + String.join("\n", rows));
+    }
+
+    private static ByteArrayInputStream ndjson(String... rows) {
+        return body(String.join("\n", rows));
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
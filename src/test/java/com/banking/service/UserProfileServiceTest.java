@@ -0,0 +1,125 @@
+package com.banking.service;
+
+import com.banking.model.User;
+import com.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProfileServiceTest {
+
+    private static final String EMAIL = "john.doe@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserProfileService userProfileService;
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWritesWindow readYourWrites =
+                new ReadYourWritesWindow(transactionTemplate, false, Duration.ofSeconds(5));
+        userProfileService = new UserProfileService(userRepository, readYourWrites,
+                Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void currentETag_WhenSeenBefore_ShouldNotLoadTheUserAgain() {
+
+        // Arrange
+        when(userRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(user(LocalDateTime.of(2026, 2, 17, 10, 59, 41, 123456000))));
+
+        // Act
+        String first = userProfileService.currentETag(EMAIL);
+        String second = userProfileService.currentETag(EMAIL);
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.startsWith("\"7-") && first.endsWith("\""));
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void currentETag_AfterEvict_ShouldReflectTheUpdatedRow() {
+
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 2, 17, 10, 59, 41);
+        when(userRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(user(updatedAt)))
+                .thenReturn(Optional.of(user(updatedAt.plusNanos(1_000))));
+        String before = userProfileService.currentETag(EMAIL);
+
+        // Act
+        userProfileService.evict(EMAIL);
+        String after = userProfileService.currentETag(EMAIL);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void currentETag_FromAReplica_ShouldNotBeCached() {
+
+        // Arrange
+        ReadYourWritesWindow readYourWrites =
+                new ReadYourWritesWindow(transactionTemplate, true, Duration.ofSeconds(5));
+        userProfileService = new UserProfileService(userRepository, readYourWrites,
+                Duration.ofMinutes(5), 100);
+        when(userRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(user(LocalDateTime.of(2026, 2, 17, 10, 59, 41))));
+
+        // Act
+        userProfileService.currentETag(EMAIL);
+        userProfileService.currentETag(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void eTag_ShouldIgnorePrecisionTheDatabaseDoesNotStore() {
+
+        // Arrange
+        LocalDateTime stored = LocalDateTime.of(2026, 2, 17, 10, 59, 41, 123456000);
+
+        // Act & Assert
+        assertEquals(UserProfileService.eTag(user(stored)),
+                UserProfileService.eTag(user(stored.plusNanos(789))));
+    }
+
+    @Test
+    void load_WhenUserDeleted_ShouldThrow() {
+
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userProfileService.load(EMAIL));
+    }
+
+    private static User user(LocalDateTime updatedAt) {
+        return User.builder()
+                .id(7L)
+                .email(EMAIL)
+                .firstName("John")
+                .lastName("Doe")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,359 @@
+package com.banking.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"email\":\"john@example.com\"}";
+    private static final String KEY = "retry-key-1";
+    private static final String SCOPE = "anonymous\n/api/v1/auth/register";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        filter = new IdempotencyFilter(redisTemplate, objectMapper, new SimpleMeterRegistry(),
+                true, Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofMillis(200),
+                "test-secret");
+    }
+
+    @Test
+    void firstRequest_ShouldRunAndStoreResponse() throws Exception {
+
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(any(), any());
+        verify(valueOperations).set(anyString(), anyString(), eq(Duration.ofHours(1)));
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void retry_ShouldReplayStoredResponseWithoutRunning() throws Exception {
+
+        // Arrange
+        IdempotencyFilter.StoredResponse stored = new IdempotencyFilter.StoredResponse(
+                fingerprint(BODY), 201, "application/json", encrypted("{\"token\":\"abc\"}"));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), response, filterChain);
+
+        // Assert
+        verifyNoInteractions(filterChain);
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"token\":\"abc\"}", response.getContentAsString());
+    }
+
+    @Test
+    void retry_WithDifferentBody_ShouldReturn422() throws Exception {
+
+        // Arrange
+        IdempotencyFilter.StoredResponse stored = new IdempotencyFilter.StoredResponse(
+                fingerprint("{\"email\":\"other@example.com\"}"), 201, "application/json", "{}");
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), response, filterChain);
+
+        // Assert
+        verifyNoInteractions(filterChain);
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void request_WithChunkedBodyOverTheCap_ShouldReturn413WithoutRunning() throws Exception {
+
+        // Arrange: no Content-Length, as with Transfer-Encoding: chunked
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/register") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.HEADER, "retry-key-1");
+        request.setContentType("application/json");
+        request.setContent(new byte[64 * 1024 + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verifyNoInteractions(filterChain);
+        verifyNoInteractions(valueOperations);
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void cachedBody_WithReadListener_ShouldDeliverTheWholeBody() throws Exception {
+
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        doAnswer(invocation -> {
+            ServletInputStream in = invocation.<HttpServletRequest>getArgument(0).getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[8];
+                    int read;
+                    while (in.isReady() && (read = in.read(buffer)) != -1) {
+                        received.write(buffer, 0, read);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // Act
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertTrue(allRead.get());
+        assertEquals(BODY, received.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void firstRequest_ShouldStoreTheBodyEncryptedAndReplayIt() throws Exception {
+
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true)
+                .thenReturn(false);
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"refreshToken\":\"fam.secret\"}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(anyString(), stored.capture(), eq(Duration.ofHours(1)));
+        when(valueOperations.get(anyString())).thenReturn(stored.getValue());
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), replay, filterChain);
+
+        // Assert
+        assertFalse(stored.getValue().contains("fam.secret"));
+        verify(filterChain, times(1)).doFilter(any(), any());
+        assertEquals(201, replay.getStatus());
+        assertEquals("{\"refreshToken\":\"fam.secret\"}", replay.getContentAsString());
+    }
+
+    @Test
+    void retry_WhenStoredBodyCannotBeDecrypted_ShouldRunAgain() throws Exception {
+
+        // Arrange: stored under another secret
+        IdempotencyFilter other = new IdempotencyFilter(redisTemplate, objectMapper,
+                new SimpleMeterRegistry(), true, Duration.ofHours(1), Duration.ofSeconds(30),
+                Duration.ofMillis(200), "other-secret");
+        IdempotencyFilter.StoredResponse stored = new IdempotencyFilter.StoredResponse(
+                fingerprint(BODY), 201, "application/json", IdempotencyFilter.encrypt(
+                        other.bodyKey(SCOPE, KEY), "{\"token\":\"abc\"}"));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(stored));
+
+        // Act
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void duplicate_OnSameNode_ShouldWaitForTheRunningRequest() throws Exception {
+
+        // Arrange
+        IdempotencyFilter waiting = new IdempotencyFilter(redisTemplate, objectMapper,
+                new SimpleMeterRegistry(), true, Duration.ofHours(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(5), "test-secret");
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setStatus(201);
+            response.getWriter().write("{\"token\":\"abc\"}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        MockHttpServletResponse duplicateResponse = new MockHttpServletResponse();
+        Thread first = new Thread(() -> run(waiting, firstResponse));
+        Thread duplicate = new Thread(() -> run(waiting, duplicateResponse));
+
+        // Act
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        duplicate.start();
+        awaitParked(duplicate);
+        finish.countDown();
+        first.join(5000);
+        duplicate.join(5000);
+
+        // Assert
+        verify(filterChain, times(1)).doFilter(any(), any());
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        assertEquals(201, duplicateResponse.getStatus());
+        assertEquals("true", duplicateResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"token\":\"abc\"}", duplicateResponse.getContentAsString());
+    }
+
+    @Test
+    void duplicate_OnOtherNode_ShouldPollUntilTheResponseIsStored() throws Exception {
+
+        // Arrange: another node holds the key and finishes after two polls
+        String inFlight = objectMapper.writeValueAsString(
+                IdempotencyFilter.StoredResponse.inFlight(fingerprint(BODY)));
+        String complete = objectMapper.writeValueAsString(new IdempotencyFilter.StoredResponse(
+                fingerprint(BODY), 201, "application/json", encrypted("{\"token\":\"abc\"}")));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(anyString()))
+                .thenReturn(inFlight)
+                .thenReturn(inFlight)
+                .thenReturn(complete);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), response, filterChain);
+
+        // Assert
+        verifyNoInteractions(filterChain);
+        verify(valueOperations, times(3)).get(anyString());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"token\":\"abc\"}", response.getContentAsString());
+    }
+
+    @Test
+    void duplicate_OnOtherNode_WhenStillRunningAfterWaitTimeout_ShouldReturn409() throws Exception {
+
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(valueOperations.get(anyString())).thenReturn(objectMapper.writeValueAsString(
+                IdempotencyFilter.StoredResponse.inFlight(fingerprint(BODY))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(BODY), response, filterChain);
+
+        // Assert
+        verifyNoInteractions(filterChain);
+        assertEquals(409, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    private void run(IdempotencyFilter target, MockHttpServletResponse response) {
+        try {
+            target.doFilter(request(BODY), response, filterChain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Waits until the thread blocks on the in-flight future
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+    }
+
+    private String encrypted(String body) throws Exception {
+        return IdempotencyFilter.encrypt(filter.bodyKey(SCOPE, KEY), body);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/register");
+        request.addHeader(IdempotencyFilter.HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String fingerprint(String body) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(body.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}